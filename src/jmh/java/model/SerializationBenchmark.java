@@ -0,0 +1,120 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Compares the protobuf Task and Result messages with the ObjectOutputStream encoding they replaced.
+// The replaced Result was a map of documents to maps of terms to frequencies. The replaced Task was not
+// Serializable at all, so it is stood in for by a Serializable class with the same two lists.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=3, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"16", "256"})
+    private int numberOfDocuments;
+
+    private Task task;
+    private ObjectStreamTask objectStreamTask;
+    private Result result;
+    private ObjectStreamResult objectStreamResult;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> terms=List.of("whale", "ahab", "sea");
+        List<String> documents=new ArrayList<>();
+        for(int i=0;i<numberOfDocuments;i++){
+            documents.add("./resources/books//Book_"+i+".txt");
+        }
+        task=new Task(terms, documents);
+        objectStreamTask=new ObjectStreamTask(terms, documents);
+        result=new Result(terms);
+        objectStreamResult=new ObjectStreamResult();
+        for(int i=0;i<numberOfDocuments;i++){
+            int documentIndex=result.addDocument(documents.get(i));
+            Map<String, Double> termToFrequency=new HashMap<>();
+            for(int termId=0;termId<terms.size();termId++){
+                double frequency=(i*31+termId)%7/1000.0;
+                result.putTermFrequency(documentIndex, termId, frequency);
+                termToFrequency.put(terms.get(termId), frequency);
+            }
+            objectStreamResult.documentToTermFrequencies.put(documents.get(i), termToFrequency);
+        }
+        System.out.println(String.format("%n%d documents: task %d bytes as protobuf, %d bytes as object stream; result %d bytes as protobuf, %d bytes as object stream",
+                numberOfDocuments, SerializationUtils.serialize(task).length, writeObject(objectStreamTask).length,
+                SerializationUtils.serialize(result).length, writeObject(objectStreamResult).length));
+    }
+
+    @Benchmark
+    public Task protobufTask(){
+        return SerializationUtils.deserializeTask(SerializationUtils.serialize(task));
+    }
+
+    @Benchmark
+    public Object objectStreamTask() throws IOException, ClassNotFoundException {
+        return readObject(writeObject(objectStreamTask));
+    }
+
+    @Benchmark
+    public Result protobufResult(){
+        return SerializationUtils.deserializeResult(SerializationUtils.serialize(result));
+    }
+
+    @Benchmark
+    public Object objectStreamResult() throws IOException, ClassNotFoundException {
+        return readObject(writeObject(objectStreamResult));
+    }
+
+    private static byte[] writeObject(Object object) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream=new ByteArrayOutputStream();
+        try(ObjectOutputStream objectOutput=new ObjectOutputStream(byteArrayOutputStream)){
+            objectOutput.writeObject(object);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static Object readObject(byte[] data) throws IOException, ClassNotFoundException {
+        try(ObjectInputStream objectInput=new ObjectInputStream(new ByteArrayInputStream(data))){
+            return objectInput.readObject();
+        }
+    }
+
+    private static class ObjectStreamTask implements Serializable {
+        private static final long serialVersionUID=1L;
+        private final List<String> searchTerms;
+        private final List<String> documents;
+
+        ObjectStreamTask(List<String> searchTerms, List<String> documents){
+            this.searchTerms=new ArrayList<>(searchTerms);
+            this.documents=new ArrayList<>(documents);
+        }
+    }
+
+    private static class ObjectStreamResult implements Serializable {
+        private static final long serialVersionUID=1L;
+        private final Map<String, Map<String, Double>> documentToTermFrequencies=new HashMap<>();
+    }
+}
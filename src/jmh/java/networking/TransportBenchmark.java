@@ -0,0 +1,106 @@
+package networking;
+
+import model.Result;
+import model.SerializationUtils;
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Sends a task to a worker stand-in over HTTP and over the framed TCP transport, through the same
+// WebClient the coordinator uses. The stand-in answers every task with a prepared result, so only
+// serialization, the transport and the servers' request handling are measured. sequentialTask shows
+// the latency of one task at a time, concurrentTasks how the transports hold up when 8 tasks are in
+// flight, over pooled HTTP/1.1 connections or one pipelined TCP connection.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=3, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+public class TransportBenchmark {
+    private static final int HTTP_PORT=18381;
+    private static final int TCP_PORT=18382;
+
+    @Param({"http", "tcp"})
+    private String transport;
+
+    @Param({"16", "256"})
+    private int numberOfDocuments;
+
+    private RequestServer server;
+    private WebClient webClient;
+    private String url;
+    private Task task;
+
+    @Setup
+    public void setUp(){
+        // set by OnElectionAction in a real worker, without it every HTTP response waits for a delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        List<String> terms=List.of("whale", "ahab", "sea");
+        List<String> documents=new ArrayList<>();
+        for(int i=0;i<numberOfDocuments;i++){
+            documents.add("./resources/books//Book_"+i+".txt");
+        }
+        task=new Task(terms, documents);
+        Result result=new Result(terms);
+        for(int i=0;i<numberOfDocuments;i++){
+            int documentIndex=result.addDocument(documents.get(i));
+            for(int termId=0;termId<terms.size();termId++){
+                result.putTermFrequency(documentIndex, termId, (i*31+termId)%7/1000.0);
+            }
+        }
+        byte[] response=SerializationUtils.serialize(result);
+        OnRequestCallback worker=new OnRequestCallback(){
+            @Override
+            public byte[] handleRequest(byte[] requestPayload){
+                SerializationUtils.deserializeTask(requestPayload);
+                return response;
+            }
+
+            @Override
+            public String getEndpoint(){
+                return "/task";
+            }
+        };
+        if(transport.equals("tcp")){
+            server=new TcpServer(TCP_PORT, worker);
+            url="tcp://localhost:"+TCP_PORT;
+        }else{
+            server=new WebServer(HTTP_PORT, worker);
+            url="http://localhost:"+HTTP_PORT+worker.getEndpoint();
+        }
+        server.startServer();
+        webClient=new WebClient();
+    }
+
+    @TearDown
+    public void tearDown(){
+        server.stop();
+    }
+
+    @Benchmark
+    public Result sequentialTask(){
+        return webClient.sendTask(url, task).join();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Result concurrentTasks(){
+        return webClient.sendTask(url, task).join();
+    }
+}
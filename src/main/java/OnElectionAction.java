@@ -1,5 +1,7 @@
 import cluster.management.OnElectionCallback;
 import cluster.management.ServiceRegistry;
+import networking.RequestServer;
+import networking.TcpServer;
 import networking.WebClient;
 import networking.WebServer;
 import org.apache.zookeeper.KeeperException;
@@ -13,13 +15,21 @@ public class OnElectionAction implements OnElectionCallback {
 
     private final ServiceRegistry workerServiceRegistry;
     private final ServiceRegistry coordinatorServiceRegistry;
+    private static final String TCP_TRANSPORT="tcp";
+
     private final int port;
-    private WebServer webServer;
+    private RequestServer webServer;
 
     public OnElectionAction(ServiceRegistry workerServiceRegistry, ServiceRegistry coordinatorServiceRegistry, int port) {
         this.workerServiceRegistry = workerServiceRegistry;
         this.coordinatorServiceRegistry=coordinatorServiceRegistry;
         this.port=port;
+        // the JDK HttpServer writes headers and small bodies separately, without TCP_NODELAY the second
+        // write waits for the client's delayed ACK and adds about 40 ms to every request. It is read
+        // once, when the first server is created
+        if(System.getProperty("sun.net.httpserver.nodelay")==null){
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
     }
 
 
@@ -37,11 +47,18 @@ public class OnElectionAction implements OnElectionCallback {
 
     @Override
     public void OnWorker() {
-        SearchWorker searchWorker=new SearchWorker();
-        webServer=new WebServer(port, searchWorker);
+        // -DsearchWorker.index=false scans the documents of every task instead of indexing them, keeping
+        // the documents mapped and the counts of popular terms cached between tasks
+        boolean indexDocuments=Boolean.parseBoolean(System.getProperty("searchWorker.index", "true"));
+        SearchWorker searchWorker=new SearchWorker(indexDocuments);
+        // -Dworker.transport=tcp serves tasks over framed TCP instead of HTTP
+        boolean useTcp=TCP_TRANSPORT.equals(System.getProperty("worker.transport"));
+        webServer=useTcp?new TcpServer(port, searchWorker):new WebServer(port, searchWorker);
         webServer.startServer();
         try{
-            String currentServerAddress=String.format("http://%s:%d%s", InetAddress.getLocalHost().getCanonicalHostName(), port, searchWorker.getEndpoint());
+            String currentServerAddress=useTcp
+                    ?String.format("tcp://%s:%d", InetAddress.getLocalHost().getCanonicalHostName(), port)
+                    :String.format("http://%s:%d%s", InetAddress.getLocalHost().getCanonicalHostName(), port, searchWorker.getEndpoint());
             workerServiceRegistry.registerToCluster(currentServerAddress);
         }catch(InterruptedException| UnknownHostException| KeeperException e){
             e.printStackTrace();
@@ -0,0 +1,150 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Recycles request and response buffers in power of two size classes. Buffers larger than the
+// largest class are allocated and dropped as usual. With leak detection on, every acquired buffer
+// remembers where it was acquired so that reportLeaks() can point at buffers that were never released.
+public class BufferPool {
+    private static final int MIN_SIZE_CLASS=10;
+    private static final int MAX_SIZE_CLASS=22;
+    private static final int MAX_BUFFERS_PER_SIZE_CLASS=64;
+
+    public static final BufferPool HEAP=new BufferPool(Boolean.getBoolean("bufferPool.leakDetection"));
+
+    private final boolean leakDetection;
+    private final List<ConcurrentLinkedQueue<ByteBuffer>> freeBuffers;
+    private final AtomicInteger[] freeBufferCounts;
+    private final Map<ByteBuffer, Throwable> acquiredBuffers=new IdentityHashMap<>();
+    private final AtomicLong allocatedBuffers=new AtomicLong();
+    private final AtomicLong reusedBuffers=new AtomicLong();
+
+    public BufferPool(boolean leakDetection){
+        this.leakDetection=leakDetection;
+        int numberOfSizeClasses=MAX_SIZE_CLASS-MIN_SIZE_CLASS+1;
+        freeBuffers=new ArrayList<>(numberOfSizeClasses);
+        freeBufferCounts=new AtomicInteger[numberOfSizeClasses];
+        for(int i=0;i<numberOfSizeClasses;i++){
+            freeBuffers.add(new ConcurrentLinkedQueue<>());
+            freeBufferCounts[i]=new AtomicInteger();
+        }
+    }
+
+    // the buffer is cleared and has at least minimumCapacity bytes of room
+    public ByteBuffer acquire(int minimumCapacity){
+        int sizeClass=getSizeClass(minimumCapacity);
+        ByteBuffer buffer=null;
+        if(sizeClass<=MAX_SIZE_CLASS){
+            buffer=freeBuffers.get(sizeClass-MIN_SIZE_CLASS).poll();
+        }
+        if(buffer==null){
+            allocatedBuffers.incrementAndGet();
+            int capacity=sizeClass<=MAX_SIZE_CLASS?1<<sizeClass:minimumCapacity;
+            buffer=ByteBuffer.allocate(capacity);
+        }else{
+            freeBufferCounts[sizeClass-MIN_SIZE_CLASS].decrementAndGet();
+            reusedBuffers.incrementAndGet();
+            buffer.clear();
+        }
+        if(leakDetection){
+            synchronized (acquiredBuffers){
+                acquiredBuffers.put(buffer, new Throwable("Buffer acquired here was never released"));
+            }
+        }
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer){
+        if(leakDetection){
+            synchronized (acquiredBuffers){
+                if(acquiredBuffers.remove(buffer)==null){
+                    throw new IllegalStateException("Released a buffer that is not currently acquired from this pool");
+                }
+            }
+        }
+        int capacity=buffer.capacity();
+        int sizeClass=getSizeClass(capacity);
+        if(capacity!=1<<sizeClass || sizeClass>MAX_SIZE_CLASS){
+            return;
+        }
+        int index=sizeClass-MIN_SIZE_CLASS;
+        if(freeBufferCounts[index].incrementAndGet()>MAX_BUFFERS_PER_SIZE_CLASS){
+            freeBufferCounts[index].decrementAndGet();
+            return;
+        }
+        freeBuffers.get(index).offer(buffer);
+    }
+
+    // returns a buffer at least twice as large holding the flipped contents of buffer, which is released
+    public ByteBuffer grow(ByteBuffer buffer){
+        ByteBuffer grownBuffer=acquire(Math.max(buffer.capacity()*2, 1<<MIN_SIZE_CLASS));
+        buffer.flip();
+        grownBuffer.put(buffer);
+        release(buffer);
+        return grownBuffer;
+    }
+
+    // reads the whole stream into a pooled buffer, returned flipped and ready to be read
+    public ByteBuffer readFully(InputStream inputStream) throws IOException {
+        ByteBuffer buffer=acquire(1<<MIN_SIZE_CLASS);
+        try{
+            while(true){
+                if(!buffer.hasRemaining()){
+                    buffer=grow(buffer);
+                }
+                int read=inputStream.read(buffer.array(), buffer.arrayOffset()+buffer.position(), buffer.remaining());
+                if(read==-1){
+                    break;
+                }
+                buffer.position(buffer.position()+read);
+            }
+        }catch (IOException e){
+            release(buffer);
+            throw e;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    public long getAllocatedBuffers(){
+        return allocatedBuffers.get();
+    }
+
+    public long getReusedBuffers(){
+        return reusedBuffers.get();
+    }
+
+    // only tracked when leak detection is on
+    public int getAcquiredBuffers(){
+        synchronized (acquiredBuffers){
+            return acquiredBuffers.size();
+        }
+    }
+
+    public List<Throwable> reportLeaks(){
+        List<Throwable> leaks;
+        synchronized (acquiredBuffers){
+            leaks=new ArrayList<>(acquiredBuffers.values());
+        }
+        for(Throwable leak: leaks){
+            leak.printStackTrace();
+        }
+        return leaks;
+    }
+
+    private static int getSizeClass(int capacity){
+        if(capacity<=1<<MIN_SIZE_CLASS){
+            return MIN_SIZE_CLASS;
+        }
+        return 32-Integer.numberOfLeadingZeros(capacity-1);
+    }
+}
@@ -1,18 +1,109 @@
 package model;
 
-import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
-public class Result implements Serializable {
-    private Map<String, DocumentData> documentToDocumentData=new HashMap<>();
+public class Result {
+    // term ids index into this query-local dictionary
+    private final List<String> terms;
+    private final List<String> documents=new ArrayList<>();
+    // flattened as [documentIndex * terms.size() + termId]
+    private double[] termFrequencies=new double[0];
+    // set instead of term frequencies when answering a top-K search
+    private double[] scores;
+    private int shardSize;
+    private int[] documentFrequencies;
+    // the worker ran out of time before processing all documents of its task, or left out documents
+    // it could not read
+    private boolean partial;
 
-    public void addDocumentData(String document, DocumentData documentData){
-        this.documentToDocumentData.put(document,documentData);
+    public Result(List<String> terms){
+        this.terms=new ArrayList<>(terms);
     }
 
-    public Map<String, DocumentData> getDocumentToDocumentData(){
-        return Collections.unmodifiableMap(documentToDocumentData);
+    public List<String> getTerms(){
+        return Collections.unmodifiableList(terms);
+    }
+
+    public int addDocument(String document){
+        int documentIndex=documents.size();
+        int requiredLength=(documentIndex+1)*terms.size();
+        if(requiredLength>termFrequencies.length){
+            termFrequencies=Arrays.copyOf(termFrequencies, Math.max(requiredLength, Math.max(termFrequencies.length*2, 16)));
+        }
+        documents.add(document);
+        return documentIndex;
+    }
+
+    public void putTermFrequency(int documentIndex, int termId, double frequency){
+        termFrequencies[documentIndex*terms.size()+termId]=frequency;
+    }
+
+    public void addAll(Result other){
+        if(!terms.equals(other.terms)){
+            throw new IllegalArgumentException("Cannot merge results computed for different terms");
+        }
+        for(int documentIndex=0;documentIndex<other.getNumberOfDocuments();documentIndex++){
+            int mergedIndex=addDocument(other.getDocument(documentIndex));
+            System.arraycopy(other.termFrequencies, documentIndex*terms.size(), termFrequencies, mergedIndex*terms.size(), terms.size());
+        }
+    }
+
+    public int getNumberOfDocuments(){
+        return documents.size();
+    }
+
+    public String getDocument(int documentIndex){
+        return documents.get(documentIndex);
+    }
+
+    public double getFrequency(int documentIndex, int termId){
+        return termFrequencies[documentIndex*terms.size()+termId];
+    }
+
+    public void addScoredDocument(String document, double score){
+        if(scores==null){
+            scores=new double[16];
+        }else if(documents.size()==scores.length){
+            scores=Arrays.copyOf(scores, scores.length*2);
+        }
+        scores[documents.size()]=score;
+        documents.add(document);
+    }
+
+    public boolean hasScores(){
+        return scores!=null;
+    }
+
+    public double getScore(int documentIndex){
+        return scores[documentIndex];
+    }
+
+    public void setDocumentFrequencies(int shardSize, int[] documentFrequencies){
+        this.shardSize=shardSize;
+        this.documentFrequencies=documentFrequencies;
+    }
+
+    public boolean hasDocumentFrequencies(){
+        return documentFrequencies!=null;
+    }
+
+    public int getShardSize(){
+        return shardSize;
+    }
+
+    public void setPartial(boolean partial){
+        this.partial=partial;
+    }
+
+    public boolean isPartial(){
+        return partial;
+    }
+
+    // number of documents in the shard that contain the term
+    public int getDocumentFrequency(int termId){
+        return documentFrequencies[termId];
     }
 }
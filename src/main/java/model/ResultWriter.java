@@ -0,0 +1,68 @@
+package model;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import model.proto.SearchModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+// Writes a SearchModel.Result message field by field, so documents can be streamed out as they are
+// scored. Repeated and packed fields may be split across several writes and are concatenated again
+// by the parser.
+public class ResultWriter {
+    private final CodedOutputStream output;
+    private final int numberOfTerms;
+
+    public ResultWriter(OutputStream outputStream, List<String> terms) throws IOException {
+        this.output=CodedOutputStream.newInstance(outputStream);
+        this.numberOfTerms=terms.size();
+        for(String term: terms){
+            output.writeString(SearchModel.Result.TERMS_FIELD_NUMBER, term);
+        }
+    }
+
+    public void writeDocuments(Result result) throws IOException {
+        for(int documentIndex=0;documentIndex<result.getNumberOfDocuments();documentIndex++){
+            output.writeString(SearchModel.Result.DOCUMENTS_FIELD_NUMBER, result.getDocument(documentIndex));
+            if(result.hasScores()){
+                writePackedFieldHeader(SearchModel.Result.SCORES_FIELD_NUMBER, 1);
+                output.writeDoubleNoTag(result.getScore(documentIndex));
+                continue;
+            }
+            if(numberOfTerms>0){
+                writePackedFieldHeader(SearchModel.Result.TERM_FREQUENCIES_FIELD_NUMBER, numberOfTerms);
+                for(int termId=0;termId<numberOfTerms;termId++){
+                    output.writeDoubleNoTag(result.getFrequency(documentIndex, termId));
+                }
+            }
+        }
+    }
+
+    public void writeDocumentFrequencies(int shardSize, int[] documentFrequencies) throws IOException {
+        output.writeInt32(SearchModel.Result.SHARD_SIZE_FIELD_NUMBER, shardSize);
+        int size=0;
+        for(int documentFrequency: documentFrequencies){
+            size+=CodedOutputStream.computeInt32SizeNoTag(documentFrequency);
+        }
+        output.writeTag(SearchModel.Result.DOCUMENT_FREQUENCIES_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(size);
+        for(int documentFrequency: documentFrequencies){
+            output.writeInt32NoTag(documentFrequency);
+        }
+    }
+
+    public void writePartial() throws IOException {
+        output.writeBool(SearchModel.Result.PARTIAL_FIELD_NUMBER, true);
+    }
+
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    private void writePackedFieldHeader(int fieldNumber, int numberOfDoubles) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(numberOfDoubles*8);
+    }
+}
@@ -1,30 +1,144 @@
 package model;
 
-import java.io.*;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import model.proto.SearchModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 public class SerializationUtils {
-    public static byte[] serialize(Object object){
-        ByteArrayOutputStream byteArrayOutputStream=new ByteArrayOutputStream();
-        ObjectOutput objectOutput=null;
+    public static byte[] serialize(Task task){
+        return toTaskMessage(task).toByteArray();
+    }
+
+    // the returned buffer is flipped and has to be released to bufferPool once it has been sent
+    public static ByteBuffer serialize(Task task, BufferPool bufferPool){
+        SearchModel.Task taskMessage=toTaskMessage(task);
+        ByteBuffer buffer=bufferPool.acquire(taskMessage.getSerializedSize());
         try{
-            objectOutput=new ObjectOutputStream(byteArrayOutputStream);
-            objectOutput.writeObject(object);
-            objectOutput.flush();
-            return byteArrayOutputStream.toByteArray();
+            CodedOutputStream output=CodedOutputStream.newInstance(buffer);
+            taskMessage.writeTo(output);
+            output.flush();
         }catch (IOException e){
+            bufferPool.release(buffer);
+            throw new IllegalStateException("Task does not fit its own serialized size", e);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static SearchModel.Task toTaskMessage(Task task){
+        SearchModel.Task.Builder taskMessage=SearchModel.Task.newBuilder()
+                .setType(SearchModel.Task.Type.valueOf(task.getType().name()))
+                .addAllSearchTerms(task.getSearchTerms())
+                .addAllDocuments(task.getDocuments())
+                .setMaxResults(task.getMaxResults())
+                .setDeadlineMillis(task.getDeadlineMillis());
+        if(task.getType()==Task.Type.TOP_DOCUMENTS){
+            for(int termId=0;termId<task.getSearchTerms().size();termId++){
+                taskMessage.addInverseDocumentFrequencies(task.getInverseDocumentFrequency(termId));
+            }
+        }
+        return taskMessage.build();
+    }
+
+    public static Task deserializeTask(byte[] data){
+        try{
+            return toTask(SearchModel.Task.parseFrom(data));
+        }catch (InvalidProtocolBufferException e){
             e.printStackTrace();
         }
-        return new byte[]{};
+        return null;
     }
-    public static Object deserialize(byte[] data){
-        ByteArrayInputStream byteArrayInputStream=new ByteArrayInputStream(data);
-        ObjectInput objectInput=null;
+
+    public static Task deserializeTask(InputStream inputStream) throws IOException {
+        ByteBuffer buffer=BufferPool.HEAP.readFully(inputStream);
         try{
-            objectInput=new ObjectInputStream(byteArrayInputStream);
-            return objectInput.readObject();
-        }catch (ClassNotFoundException | IOException e){
+            return toTask(SearchModel.Task.parseFrom(buffer));
+        }finally {
+            BufferPool.HEAP.release(buffer);
+        }
+    }
+
+    private static Task toTask(SearchModel.Task taskMessage){
+        double[] inverseDocumentFrequencies=new double[taskMessage.getInverseDocumentFrequenciesCount()];
+        for(int termId=0;termId<inverseDocumentFrequencies.length;termId++){
+            inverseDocumentFrequencies[termId]=taskMessage.getInverseDocumentFrequencies(termId);
+        }
+        return new Task(Task.Type.valueOf(taskMessage.getType().name()),
+                taskMessage.getSearchTermsList(),
+                taskMessage.getDocumentsList(),
+                taskMessage.getMaxResults(),
+                inverseDocumentFrequencies,
+                taskMessage.getDeadlineMillis());
+    }
+
+    public static byte[] serialize(Result result){
+        ByteArrayOutputStream outputStream=new ByteArrayOutputStream();
+        try{
+            ResultWriter resultWriter=new ResultWriter(outputStream, result.getTerms());
+            resultWriter.writeDocuments(result);
+            if(result.hasDocumentFrequencies()){
+                int[] documentFrequencies=new int[result.getTerms().size()];
+                for(int termId=0;termId<documentFrequencies.length;termId++){
+                    documentFrequencies[termId]=result.getDocumentFrequency(termId);
+                }
+                resultWriter.writeDocumentFrequencies(result.getShardSize(), documentFrequencies);
+            }
+            if(result.isPartial()){
+                resultWriter.writePartial();
+            }
+            resultWriter.flush();
+        }catch (IOException e){
+            e.printStackTrace();
+        }
+        return outputStream.toByteArray();
+    }
+
+    public static Result deserializeResult(byte[] data){
+        try{
+            return toResult(SearchModel.Result.parseFrom(data));
+        }catch (InvalidProtocolBufferException e){
             e.printStackTrace();
         }
         return null;
     }
+
+    public static Result deserializeResult(ByteBuffer data){
+        try{
+            return toResult(SearchModel.Result.parseFrom(data));
+        }catch (InvalidProtocolBufferException e){
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private static Result toResult(SearchModel.Result resultMessage){
+        int numberOfTerms=resultMessage.getTermsCount();
+        boolean hasScores=resultMessage.getScoresCount()>0;
+        Result result=new Result(resultMessage.getTermsList());
+        for(int documentIndex=0;documentIndex<resultMessage.getDocumentsCount();documentIndex++){
+            String document=resultMessage.getDocuments(documentIndex);
+            if(hasScores){
+                result.addScoredDocument(document, resultMessage.getScores(documentIndex));
+                continue;
+            }
+            result.addDocument(document);
+            for(int termId=0;termId<numberOfTerms;termId++){
+                result.putTermFrequency(documentIndex, termId, resultMessage.getTermFrequencies(documentIndex*numberOfTerms+termId));
+            }
+        }
+        if(resultMessage.hasShardSize()){
+            int[] documentFrequencies=new int[numberOfTerms];
+            for(int termId=0;termId<numberOfTerms;termId++){
+                documentFrequencies[termId]=resultMessage.getDocumentFrequencies(termId);
+            }
+            result.setDocumentFrequencies(resultMessage.getShardSize(), documentFrequencies);
+        }
+        result.setPartial(resultMessage.getPartial());
+        return result;
+    }
 }
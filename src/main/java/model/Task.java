@@ -4,13 +4,52 @@ import java.util.Collections;
 import java.util.List;
 
 public class Task {
+    public enum Type {
+        // term frequencies of every assigned document
+        TERM_FREQUENCIES,
+        // phase one of a top-K search: per-term document counts and the shard size
+        DOCUMENT_FREQUENCIES,
+        // phase two of a top-K search: the shard's best documents scored with the global IDF
+        TOP_DOCUMENTS
+    }
+
+    private final Type type;
     private final List<String> searchTerms;
     private final List<String> documents;
+    private final int maxResults;
+    private final double[] inverseDocumentFrequencies;
+    // 0 when the task has no deadline
+    private final long deadlineMillis;
 
 
     public Task(List<String> searchTerms, List<String> documents) {
+        this(Type.TERM_FREQUENCIES, searchTerms, documents, 0, null, 0);
+    }
+
+    Task(Type type, List<String> searchTerms, List<String> documents, int maxResults, double[] inverseDocumentFrequencies, long deadlineMillis) {
+        this.type = type;
         this.searchTerms = searchTerms;
         this.documents = documents;
+        this.maxResults = maxResults;
+        this.inverseDocumentFrequencies = inverseDocumentFrequencies;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public static Task forDocumentFrequencies(List<String> searchTerms, List<String> documents) {
+        return new Task(Type.DOCUMENT_FREQUENCIES, searchTerms, documents, 0, null, 0);
+    }
+
+    public static Task forTopDocuments(List<String> searchTerms, List<String> documents, double[] inverseDocumentFrequencies, int maxResults) {
+        return new Task(Type.TOP_DOCUMENTS, searchTerms, documents, maxResults, inverseDocumentFrequencies, 0);
+    }
+
+    // the same task, to be answered within deadlineMillis of the worker receiving it
+    public Task withDeadlineMillis(long deadlineMillis) {
+        return new Task(type, searchTerms, documents, maxResults, inverseDocumentFrequencies, deadlineMillis);
+    }
+
+    public Type getType() {
+        return type;
     }
 
     public List<String> getSearchTerms() {
@@ -20,4 +59,16 @@ public class Task {
     public List<String> getDocuments() {
         return Collections.unmodifiableList(documents);
     }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public double getInverseDocumentFrequency(int termId) {
+        return inverseDocumentFrequencies[termId];
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
 }
@@ -34,6 +34,36 @@ public final class SearchModel {
      */
     com.google.protobuf.ByteString
         getSearchQueryBytes();
+
+    /**
+     * <code>optional int32 max_results = 2;</code>
+     * @return Whether the maxResults field is set.
+     */
+    boolean hasMaxResults();
+    /**
+     * <code>optional int32 max_results = 2;</code>
+     * @return The maxResults.
+     */
+    int getMaxResults();
+
+    /**
+     * <pre>
+     * time budget in milliseconds from when the coordinator receives the request
+     * </pre>
+     *
+     * <code>optional int64 deadline_millis = 3;</code>
+     * @return Whether the deadlineMillis field is set.
+     */
+    boolean hasDeadlineMillis();
+    /**
+     * <pre>
+     * time budget in milliseconds from when the coordinator receives the request
+     * </pre>
+     *
+     * <code>optional int64 deadline_millis = 3;</code>
+     * @return The deadlineMillis.
+     */
+    long getDeadlineMillis();
   }
   /**
    * Protobuf type {@code networking.Request}
@@ -88,6 +118,16 @@ public final class SearchModel {
               searchQuery_ = bs;
               break;
             }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              maxResults_ = input.readInt32();
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              deadlineMillis_ = input.readInt64();
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -169,6 +209,52 @@ public final class SearchModel {
       }
     }
 
+    public static final int MAX_RESULTS_FIELD_NUMBER = 2;
+    private int maxResults_;
+    /**
+     * <code>optional int32 max_results = 2;</code>
+     * @return Whether the maxResults field is set.
+     */
+    @java.lang.Override
+    public boolean hasMaxResults() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional int32 max_results = 2;</code>
+     * @return The maxResults.
+     */
+    @java.lang.Override
+    public int getMaxResults() {
+      return maxResults_;
+    }
+
+    public static final int DEADLINE_MILLIS_FIELD_NUMBER = 3;
+    private long deadlineMillis_;
+    /**
+     * <pre>
+     * time budget in milliseconds from when the coordinator receives the request
+     * </pre>
+     *
+     * <code>optional int64 deadline_millis = 3;</code>
+     * @return Whether the deadlineMillis field is set.
+     */
+    @java.lang.Override
+    public boolean hasDeadlineMillis() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <pre>
+     * time budget in milliseconds from when the coordinator receives the request
+     * </pre>
+     *
+     * <code>optional int64 deadline_millis = 3;</code>
+     * @return The deadlineMillis.
+     */
+    @java.lang.Override
+    public long getDeadlineMillis() {
+      return deadlineMillis_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -190,6 +276,12 @@ public final class SearchModel {
       if (((bitField0_ & 0x00000001) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 1, searchQuery_);
       }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        output.writeInt32(2, maxResults_);
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        output.writeInt64(3, deadlineMillis_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -202,6 +294,14 @@ public final class SearchModel {
       if (((bitField0_ & 0x00000001) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, searchQuery_);
       }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(2, maxResults_);
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(3, deadlineMillis_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -222,6 +322,16 @@ public final class SearchModel {
         if (!getSearchQuery()
             .equals(other.getSearchQuery())) return false;
       }
+      if (hasMaxResults() != other.hasMaxResults()) return false;
+      if (hasMaxResults()) {
+        if (getMaxResults()
+            != other.getMaxResults()) return false;
+      }
+      if (hasDeadlineMillis() != other.hasDeadlineMillis()) return false;
+      if (hasDeadlineMillis()) {
+        if (getDeadlineMillis()
+            != other.getDeadlineMillis()) return false;
+      }
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -237,6 +347,15 @@ public final class SearchModel {
         hash = (37 * hash) + SEARCH_QUERY_FIELD_NUMBER;
         hash = (53 * hash) + getSearchQuery().hashCode();
       }
+      if (hasMaxResults()) {
+        hash = (37 * hash) + MAX_RESULTS_FIELD_NUMBER;
+        hash = (53 * hash) + getMaxResults();
+      }
+      if (hasDeadlineMillis()) {
+        hash = (37 * hash) + DEADLINE_MILLIS_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getDeadlineMillis());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -372,6 +491,10 @@ public final class SearchModel {
         super.clear();
         searchQuery_ = "";
         bitField0_ = (bitField0_ & ~0x00000001);
+        maxResults_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        deadlineMillis_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
 
@@ -404,6 +527,14 @@ public final class SearchModel {
           to_bitField0_ |= 0x00000001;
         }
         result.searchQuery_ = searchQuery_;
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.maxResults_ = maxResults_;
+          to_bitField0_ |= 0x00000002;
+        }
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          result.deadlineMillis_ = deadlineMillis_;
+          to_bitField0_ |= 0x00000004;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -458,6 +589,12 @@ public final class SearchModel {
           searchQuery_ = other.searchQuery_;
           onChanged();
         }
+        if (other.hasMaxResults()) {
+          setMaxResults(other.getMaxResults());
+        }
+        if (other.hasDeadlineMillis()) {
+          setDeadlineMillis(other.getDeadlineMillis());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -574,6 +711,100 @@ public final class SearchModel {
         onChanged();
         return this;
       }
+
+      private int maxResults_ ;
+      /**
+       * <code>optional int32 max_results = 2;</code>
+       * @return Whether the maxResults field is set.
+       */
+      @java.lang.Override
+      public boolean hasMaxResults() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional int32 max_results = 2;</code>
+       * @return The maxResults.
+       */
+      @java.lang.Override
+      public int getMaxResults() {
+        return maxResults_;
+      }
+      /**
+       * <code>optional int32 max_results = 2;</code>
+       * @param value The maxResults to set.
+       * @return This builder for chaining.
+       */
+      public Builder setMaxResults(int value) {
+        bitField0_ |= 0x00000002;
+        maxResults_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 max_results = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearMaxResults() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        maxResults_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private long deadlineMillis_ ;
+      /**
+       * <pre>
+       * time budget in milliseconds from when the coordinator receives the request
+       * </pre>
+       *
+       * <code>optional int64 deadline_millis = 3;</code>
+       * @return Whether the deadlineMillis field is set.
+       */
+      @java.lang.Override
+      public boolean hasDeadlineMillis() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <pre>
+       * time budget in milliseconds from when the coordinator receives the request
+       * </pre>
+       *
+       * <code>optional int64 deadline_millis = 3;</code>
+       * @return The deadlineMillis.
+       */
+      @java.lang.Override
+      public long getDeadlineMillis() {
+        return deadlineMillis_;
+      }
+      /**
+       * <pre>
+       * time budget in milliseconds from when the coordinator receives the request
+       * </pre>
+       *
+       * <code>optional int64 deadline_millis = 3;</code>
+       * @param value The deadlineMillis to set.
+       * @return This builder for chaining.
+       */
+      public Builder setDeadlineMillis(long value) {
+        bitField0_ |= 0x00000004;
+        deadlineMillis_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * time budget in milliseconds from when the coordinator receives the request
+       * </pre>
+       *
+       * <code>optional int64 deadline_millis = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearDeadlineMillis() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        deadlineMillis_ = 0L;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -654,6 +885,25 @@ public final class SearchModel {
      */
     model.proto.SearchModel.Response.DocumentStatsOrBuilder getRelevantDocumentsOrBuilder(
         int index);
+
+    /**
+     * <pre>
+     * set when some documents were not searched because workers failed, ran out of time or could not read them
+     * </pre>
+     *
+     * <code>optional bool partial = 2;</code>
+     * @return Whether the partial field is set.
+     */
+    boolean hasPartial();
+    /**
+     * <pre>
+     * set when some documents were not searched because workers failed, ran out of time or could not read them
+     * </pre>
+     *
+     * <code>optional bool partial = 2;</code>
+     * @return The partial.
+     */
+    boolean getPartial();
   }
   /**
    * Protobuf type {@code networking.Response}
@@ -711,6 +961,11 @@ public final class SearchModel {
                   input.readMessage(model.proto.SearchModel.Response.DocumentStats.PARSER, extensionRegistry));
               break;
             }
+            case 16: {
+              bitField0_ |= 0x00000001;
+              partial_ = input.readBool();
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -1742,6 +1997,7 @@ public final class SearchModel {
 
     }
 
+    private int bitField0_;
     public static final int RELEVANT_DOCUMENTS_FIELD_NUMBER = 1;
     private java.util.List<model.proto.SearchModel.Response.DocumentStats> relevantDocuments_;
     /**
@@ -1782,6 +2038,33 @@ public final class SearchModel {
       return relevantDocuments_.get(index);
     }
 
+    public static final int PARTIAL_FIELD_NUMBER = 2;
+    private boolean partial_;
+    /**
+     * <pre>
+     * set when some documents were not searched because workers failed, ran out of time or could not read them
+     * </pre>
+     *
+     * <code>optional bool partial = 2;</code>
+     * @return Whether the partial field is set.
+     */
+    @java.lang.Override
+    public boolean hasPartial() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <pre>
+     * set when some documents were not searched because workers failed, ran out of time or could not read them
+     * </pre>
+     *
+     * <code>optional bool partial = 2;</code>
+     * @return The partial.
+     */
+    @java.lang.Override
+    public boolean getPartial() {
+      return partial_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -1805,6 +2088,9 @@ public final class SearchModel {
       for (int i = 0; i < relevantDocuments_.size(); i++) {
         output.writeMessage(1, relevantDocuments_.get(i));
       }
+      if (((bitField0_ & 0x00000001) != 0)) {
+        output.writeBool(2, partial_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -1818,6 +2104,10 @@ public final class SearchModel {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(1, relevantDocuments_.get(i));
       }
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(2, partial_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -1835,6 +2125,11 @@ public final class SearchModel {
 
       if (!getRelevantDocumentsList()
           .equals(other.getRelevantDocumentsList())) return false;
+      if (hasPartial() != other.hasPartial()) return false;
+      if (hasPartial()) {
+        if (getPartial()
+            != other.getPartial()) return false;
+      }
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -1850,6 +2145,11 @@ public final class SearchModel {
         hash = (37 * hash) + RELEVANT_DOCUMENTS_FIELD_NUMBER;
         hash = (53 * hash) + getRelevantDocumentsList().hashCode();
       }
+      if (hasPartial()) {
+        hash = (37 * hash) + PARTIAL_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+            getPartial());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -1990,6 +2290,8 @@ public final class SearchModel {
         } else {
           relevantDocumentsBuilder_.clear();
         }
+        partial_ = false;
+        bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
 
@@ -2017,6 +2319,7 @@ public final class SearchModel {
       public model.proto.SearchModel.Response buildPartial() {
         model.proto.SearchModel.Response result = new model.proto.SearchModel.Response(this);
         int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
         if (relevantDocumentsBuilder_ == null) {
           if (((bitField0_ & 0x00000001) != 0)) {
             relevantDocuments_ = java.util.Collections.unmodifiableList(relevantDocuments_);
@@ -2026,6 +2329,11 @@ public final class SearchModel {
         } else {
           result.relevantDocuments_ = relevantDocumentsBuilder_.build();
         }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.partial_ = partial_;
+          to_bitField0_ |= 0x00000001;
+        }
+        result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
@@ -2100,6 +2408,9 @@ public final class SearchModel {
             }
           }
         }
+        if (other.hasPartial()) {
+          setPartial(other.getPartial());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -2374,6 +2685,61 @@ public final class SearchModel {
         }
         return relevantDocumentsBuilder_;
       }
+
+      private boolean partial_ ;
+      /**
+       * <pre>
+       * set when some documents were not searched because workers failed, ran out of time or could not read them
+       * </pre>
+       *
+       * <code>optional bool partial = 2;</code>
+       * @return Whether the partial field is set.
+       */
+      @java.lang.Override
+      public boolean hasPartial() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <pre>
+       * set when some documents were not searched because workers failed, ran out of time or could not read them
+       * </pre>
+       *
+       * <code>optional bool partial = 2;</code>
+       * @return The partial.
+       */
+      @java.lang.Override
+      public boolean getPartial() {
+        return partial_;
+      }
+      /**
+       * <pre>
+       * set when some documents were not searched because workers failed, ran out of time or could not read them
+       * </pre>
+       *
+       * <code>optional bool partial = 2;</code>
+       * @param value The partial to set.
+       * @return This builder for chaining.
+       */
+      public Builder setPartial(boolean value) {
+        bitField0_ |= 0x00000002;
+        partial_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * set when some documents were not searched because workers failed, ran out of time or could not read them
+       * </pre>
+       *
+       * <code>optional bool partial = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearPartial() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        partial_ = false;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -2427,61 +2793,3309 @@ public final class SearchModel {
 
   }
 
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_networking_Request_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_networking_Request_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_networking_Response_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_networking_Response_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_networking_Response_DocumentStats_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_networking_Response_DocumentStats_fieldAccessorTable;
+  public interface TaskOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:networking.Task)
+      com.google.protobuf.MessageOrBuilder {
 
-  public static com.google.protobuf.Descriptors.FileDescriptor
-      getDescriptor() {
-    return descriptor;
+    /**
+     * <code>optional .networking.Task.Type type = 1;</code>
+     * @return Whether the type field is set.
+     */
+    boolean hasType();
+    /**
+     * <code>optional .networking.Task.Type type = 1;</code>
+     * @return The type.
+     */
+    model.proto.SearchModel.Task.Type getType();
+
+    /**
+     * <code>repeated string search_terms = 2;</code>
+     * @return A list containing the searchTerms.
+     */
+    java.util.List<java.lang.String>
+        getSearchTermsList();
+    /**
+     * <code>repeated string search_terms = 2;</code>
+     * @return The count of searchTerms.
+     */
+    int getSearchTermsCount();
+    /**
+     * <code>repeated string search_terms = 2;</code>
+     * @param index The index of the element to return.
+     * @return The searchTerms at the given index.
+     */
+    java.lang.String getSearchTerms(int index);
+    /**
+     * <code>repeated string search_terms = 2;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the searchTerms at the given index.
+     */
+    com.google.protobuf.ByteString
+        getSearchTermsBytes(int index);
+
+    /**
+     * <code>repeated string documents = 3;</code>
+     * @return A list containing the documents.
+     */
+    java.util.List<java.lang.String>
+        getDocumentsList();
+    /**
+     * <code>repeated string documents = 3;</code>
+     * @return The count of documents.
+     */
+    int getDocumentsCount();
+    /**
+     * <code>repeated string documents = 3;</code>
+     * @param index The index of the element to return.
+     * @return The documents at the given index.
+     */
+    java.lang.String getDocuments(int index);
+    /**
+     * <code>repeated string documents = 3;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the documents at the given index.
+     */
+    com.google.protobuf.ByteString
+        getDocumentsBytes(int index);
+
+    /**
+     * <code>optional int32 max_results = 4;</code>
+     * @return Whether the maxResults field is set.
+     */
+    boolean hasMaxResults();
+    /**
+     * <code>optional int32 max_results = 4;</code>
+     * @return The maxResults.
+     */
+    int getMaxResults();
+
+    /**
+     * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+     * @return A list containing the inverseDocumentFrequencies.
+     */
+    java.util.List<java.lang.Double> getInverseDocumentFrequenciesList();
+    /**
+     * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+     * @return The count of inverseDocumentFrequencies.
+     */
+    int getInverseDocumentFrequenciesCount();
+    /**
+     * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The inverseDocumentFrequencies at the given index.
+     */
+    double getInverseDocumentFrequencies(int index);
+
+    /**
+     * <pre>
+     * time budget in milliseconds from when the worker receives the task
+     * </pre>
+     *
+     * <code>optional int64 deadline_millis = 6;</code>
+     * @return Whether the deadlineMillis field is set.
+     */
+    boolean hasDeadlineMillis();
+    /**
+     * <pre>
+     * time budget in milliseconds from when the worker receives the task
+     * </pre>
+     *
+     * <code>optional int64 deadline_millis = 6;</code>
+     * @return The deadlineMillis.
+     */
+    long getDeadlineMillis();
   }
-  private static  com.google.protobuf.Descriptors.FileDescriptor
-      descriptor;
-  static {
-    java.lang.String[] descriptorData = {
-      "\n4src/main/java/model/proto/search_clust" +
-      "er_proto.proto\022\nnetworking\"\037\n\007Request\022\024\n" +
-      "\014search_query\030\001 \002(\t\"\250\001\n\010Response\022>\n\022rele" +
-      "vant_documents\030\001 \003(\0132\".networking.Respon" +
-      "se.DocumentStats\032\\\n\rDocumentStats\022\025\n\rdoc" +
-      "ument_name\030\001 \002(\t\022\r\n\005score\030\002 \001(\001\022\025\n\rdocum" +
-      "ent_size\030\003 \001(\003\022\016\n\006author\030\004 \001(\tB\032\n\013model." +
-      "protoB\013SearchModel"
-    };
-    descriptor = com.google.protobuf.Descriptors.FileDescriptor
-      .internalBuildGeneratedFileFrom(descriptorData,
-        new com.google.protobuf.Descriptors.FileDescriptor[] {
-        });
-    internal_static_networking_Request_descriptor =
-      getDescriptor().getMessageTypes().get(0);
-    internal_static_networking_Request_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_networking_Request_descriptor,
-        new java.lang.String[] { "SearchQuery", });
-    internal_static_networking_Response_descriptor =
-      getDescriptor().getMessageTypes().get(1);
-    internal_static_networking_Response_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_networking_Response_descriptor,
-        new java.lang.String[] { "RelevantDocuments", });
-    internal_static_networking_Response_DocumentStats_descriptor =
-      internal_static_networking_Response_descriptor.getNestedTypes().get(0);
-    internal_static_networking_Response_DocumentStats_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_networking_Response_DocumentStats_descriptor,
-        new java.lang.String[] { "DocumentName", "Score", "DocumentSize", "Author", });
+  /**
+   * Protobuf type {@code networking.Task}
+   */
+  public static final class Task extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:networking.Task)
+      TaskOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use Task.newBuilder() to construct.
+    private Task(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private Task() {
+      type_ = 0;
+      searchTerms_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      documents_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      inverseDocumentFrequencies_ = emptyDoubleList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new Task();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private Task(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+              int rawValue = input.readEnum();
+                @SuppressWarnings("deprecation")
+              model.proto.SearchModel.Task.Type value = model.proto.SearchModel.Task.Type.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(1, rawValue);
+              } else {
+                bitField0_ |= 0x00000001;
+                type_ = rawValue;
+              }
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              if (!((mutable_bitField0_ & 0x00000002) != 0)) {
+                searchTerms_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              searchTerms_.add(bs);
+              break;
+            }
+            case 26: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              if (!((mutable_bitField0_ & 0x00000004) != 0)) {
+                documents_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              documents_.add(bs);
+              break;
+            }
+            case 32: {
+              bitField0_ |= 0x00000002;
+              maxResults_ = input.readInt32();
+              break;
+            }
+            case 41: {
+              if (!((mutable_bitField0_ & 0x00000010) != 0)) {
+                inverseDocumentFrequencies_ = newDoubleList();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              inverseDocumentFrequencies_.addDouble(input.readDouble());
+              break;
+            }
+            case 42: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000010) != 0) && input.getBytesUntilLimit() > 0) {
+                inverseDocumentFrequencies_ = newDoubleList();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                inverseDocumentFrequencies_.addDouble(input.readDouble());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 48: {
+              bitField0_ |= 0x00000004;
+              deadlineMillis_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000002) != 0)) {
+          searchTerms_ = searchTerms_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00000004) != 0)) {
+          documents_ = documents_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00000010) != 0)) {
+          inverseDocumentFrequencies_.makeImmutable(); // C
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return model.proto.SearchModel.internal_static_networking_Task_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return model.proto.SearchModel.internal_static_networking_Task_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              model.proto.SearchModel.Task.class, model.proto.SearchModel.Task.Builder.class);
+    }
+
+    /**
+     * Protobuf enum {@code networking.Task.Type}
+     */
+    public enum Type
+        implements com.google.protobuf.ProtocolMessageEnum {
+      /**
+       * <code>TERM_FREQUENCIES = 0;</code>
+       */
+      TERM_FREQUENCIES(0),
+      /**
+       * <code>DOCUMENT_FREQUENCIES = 1;</code>
+       */
+      DOCUMENT_FREQUENCIES(1),
+      /**
+       * <code>TOP_DOCUMENTS = 2;</code>
+       */
+      TOP_DOCUMENTS(2),
+      ;
+
+      /**
+       * <code>TERM_FREQUENCIES = 0;</code>
+       */
+      public static final int TERM_FREQUENCIES_VALUE = 0;
+      /**
+       * <code>DOCUMENT_FREQUENCIES = 1;</code>
+       */
+      public static final int DOCUMENT_FREQUENCIES_VALUE = 1;
+      /**
+       * <code>TOP_DOCUMENTS = 2;</code>
+       */
+      public static final int TOP_DOCUMENTS_VALUE = 2;
+
+
+      public final int getNumber() {
+        return value;
+      }
+
+      /**
+       * @param value The numeric wire value of the corresponding enum entry.
+       * @return The enum associated with the given numeric wire value.
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static Type valueOf(int value) {
+        return forNumber(value);
+      }
+
+      /**
+       * @param value The numeric wire value of the corresponding enum entry.
+       * @return The enum associated with the given numeric wire value.
+       */
+      public static Type forNumber(int value) {
+        switch (value) {
+          case 0: return TERM_FREQUENCIES;
+          case 1: return DOCUMENT_FREQUENCIES;
+          case 2: return TOP_DOCUMENTS;
+          default: return null;
+        }
+      }
+
+      public static com.google.protobuf.Internal.EnumLiteMap<Type>
+          internalGetValueMap() {
+        return internalValueMap;
+      }
+      private static final com.google.protobuf.Internal.EnumLiteMap<
+          Type> internalValueMap =
+            new com.google.protobuf.Internal.EnumLiteMap<Type>() {
+              public Type findValueByNumber(int number) {
+                return Type.forNumber(number);
+              }
+            };
+
+      public final com.google.protobuf.Descriptors.EnumValueDescriptor
+          getValueDescriptor() {
+        return getDescriptor().getValues().get(ordinal());
+      }
+      public final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptorForType() {
+        return getDescriptor();
+      }
+      public static final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptor() {
+        return model.proto.SearchModel.Task.getDescriptor().getEnumTypes().get(0);
+      }
+
+      private static final Type[] VALUES = values();
+
+      public static Type valueOf(
+          com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+        if (desc.getType() != getDescriptor()) {
+          throw new java.lang.IllegalArgumentException(
+            "EnumValueDescriptor is not for this type.");
+        }
+        return VALUES[desc.getIndex()];
+      }
+
+      private final int value;
+
+      private Type(int value) {
+        this.value = value;
+      }
+
+      // @@protoc_insertion_point(enum_scope:networking.Task.Type)
+    }
+
+    private int bitField0_;
+    public static final int TYPE_FIELD_NUMBER = 1;
+    private int type_;
+    /**
+     * <code>optional .networking.Task.Type type = 1;</code>
+     * @return Whether the type field is set.
+     */
+    @java.lang.Override public boolean hasType() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional .networking.Task.Type type = 1;</code>
+     * @return The type.
+     */
+    @java.lang.Override public model.proto.SearchModel.Task.Type getType() {
+      @SuppressWarnings("deprecation")
+      model.proto.SearchModel.Task.Type result = model.proto.SearchModel.Task.Type.valueOf(type_);
+      return result == null ? model.proto.SearchModel.Task.Type.TERM_FREQUENCIES : result;
+    }
+
+    public static final int SEARCH_TERMS_FIELD_NUMBER = 2;
+    private com.google.protobuf.LazyStringList searchTerms_;
+    /**
+     * <code>repeated string search_terms = 2;</code>
+     * @return A list containing the searchTerms.
+     */
+    public com.google.protobuf.ProtocolStringList
+        getSearchTermsList() {
+      return searchTerms_;
+    }
+    /**
+     * <code>repeated string search_terms = 2;</code>
+     * @return The count of searchTerms.
+     */
+    public int getSearchTermsCount() {
+      return searchTerms_.size();
+    }
+    /**
+     * <code>repeated string search_terms = 2;</code>
+     * @param index The index of the element to return.
+     * @return The searchTerms at the given index.
+     */
+    public java.lang.String getSearchTerms(int index) {
+      return searchTerms_.get(index);
+    }
+    /**
+     * <code>repeated string search_terms = 2;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the searchTerms at the given index.
+     */
+    public com.google.protobuf.ByteString
+        getSearchTermsBytes(int index) {
+      return searchTerms_.getByteString(index);
+    }
+
+    public static final int DOCUMENTS_FIELD_NUMBER = 3;
+    private com.google.protobuf.LazyStringList documents_;
+    /**
+     * <code>repeated string documents = 3;</code>
+     * @return A list containing the documents.
+     */
+    public com.google.protobuf.ProtocolStringList
+        getDocumentsList() {
+      return documents_;
+    }
+    /**
+     * <code>repeated string documents = 3;</code>
+     * @return The count of documents.
+     */
+    public int getDocumentsCount() {
+      return documents_.size();
+    }
+    /**
+     * <code>repeated string documents = 3;</code>
+     * @param index The index of the element to return.
+     * @return The documents at the given index.
+     */
+    public java.lang.String getDocuments(int index) {
+      return documents_.get(index);
+    }
+    /**
+     * <code>repeated string documents = 3;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the documents at the given index.
+     */
+    public com.google.protobuf.ByteString
+        getDocumentsBytes(int index) {
+      return documents_.getByteString(index);
+    }
+
+    public static final int MAX_RESULTS_FIELD_NUMBER = 4;
+    private int maxResults_;
+    /**
+     * <code>optional int32 max_results = 4;</code>
+     * @return Whether the maxResults field is set.
+     */
+    @java.lang.Override
+    public boolean hasMaxResults() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional int32 max_results = 4;</code>
+     * @return The maxResults.
+     */
+    @java.lang.Override
+    public int getMaxResults() {
+      return maxResults_;
+    }
+
+    public static final int INVERSE_DOCUMENT_FREQUENCIES_FIELD_NUMBER = 5;
+    private com.google.protobuf.Internal.DoubleList inverseDocumentFrequencies_;
+    /**
+     * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+     * @return A list containing the inverseDocumentFrequencies.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Double>
+        getInverseDocumentFrequenciesList() {
+      return inverseDocumentFrequencies_;
+    }
+    /**
+     * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+     * @return The count of inverseDocumentFrequencies.
+     */
+    public int getInverseDocumentFrequenciesCount() {
+      return inverseDocumentFrequencies_.size();
+    }
+    /**
+     * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The inverseDocumentFrequencies at the given index.
+     */
+    public double getInverseDocumentFrequencies(int index) {
+      return inverseDocumentFrequencies_.getDouble(index);
+    }
+    private int inverseDocumentFrequenciesMemoizedSerializedSize = -1;
+
+    public static final int DEADLINE_MILLIS_FIELD_NUMBER = 6;
+    private long deadlineMillis_;
+    /**
+     * <pre>
+     * time budget in milliseconds from when the worker receives the task
+     * </pre>
+     *
+     * <code>optional int64 deadline_millis = 6;</code>
+     * @return Whether the deadlineMillis field is set.
+     */
+    @java.lang.Override
+    public boolean hasDeadlineMillis() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <pre>
+     * time budget in milliseconds from when the worker receives the task
+     * </pre>
+     *
+     * <code>optional int64 deadline_millis = 6;</code>
+     * @return The deadlineMillis.
+     */
+    @java.lang.Override
+    public long getDeadlineMillis() {
+      return deadlineMillis_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) != 0)) {
+        output.writeEnum(1, type_);
+      }
+      for (int i = 0; i < searchTerms_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, searchTerms_.getRaw(i));
+      }
+      for (int i = 0; i < documents_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, documents_.getRaw(i));
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        output.writeInt32(4, maxResults_);
+      }
+      if (getInverseDocumentFrequenciesList().size() > 0) {
+        output.writeUInt32NoTag(42);
+        output.writeUInt32NoTag(inverseDocumentFrequenciesMemoizedSerializedSize);
+      }
+      for (int i = 0; i < inverseDocumentFrequencies_.size(); i++) {
+        output.writeDoubleNoTag(inverseDocumentFrequencies_.getDouble(i));
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        output.writeInt64(6, deadlineMillis_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(1, type_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < searchTerms_.size(); i++) {
+          dataSize += computeStringSizeNoTag(searchTerms_.getRaw(i));
+        }
+        size += dataSize;
+        size += 1 * getSearchTermsList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < documents_.size(); i++) {
+          dataSize += computeStringSizeNoTag(documents_.getRaw(i));
+        }
+        size += dataSize;
+        size += 1 * getDocumentsList().size();
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(4, maxResults_);
+      }
+      {
+        int dataSize = 0;
+        dataSize = 8 * getInverseDocumentFrequenciesList().size();
+        size += dataSize;
+        if (!getInverseDocumentFrequenciesList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        inverseDocumentFrequenciesMemoizedSerializedSize = dataSize;
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(6, deadlineMillis_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof model.proto.SearchModel.Task)) {
+        return super.equals(obj);
+      }
+      model.proto.SearchModel.Task other = (model.proto.SearchModel.Task) obj;
+
+      if (hasType() != other.hasType()) return false;
+      if (hasType()) {
+        if (type_ != other.type_) return false;
+      }
+      if (!getSearchTermsList()
+          .equals(other.getSearchTermsList())) return false;
+      if (!getDocumentsList()
+          .equals(other.getDocumentsList())) return false;
+      if (hasMaxResults() != other.hasMaxResults()) return false;
+      if (hasMaxResults()) {
+        if (getMaxResults()
+            != other.getMaxResults()) return false;
+      }
+      if (!getInverseDocumentFrequenciesList()
+          .equals(other.getInverseDocumentFrequenciesList())) return false;
+      if (hasDeadlineMillis() != other.hasDeadlineMillis()) return false;
+      if (hasDeadlineMillis()) {
+        if (getDeadlineMillis()
+            != other.getDeadlineMillis()) return false;
+      }
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasType()) {
+        hash = (37 * hash) + TYPE_FIELD_NUMBER;
+        hash = (53 * hash) + type_;
+      }
+      if (getSearchTermsCount() > 0) {
+        hash = (37 * hash) + SEARCH_TERMS_FIELD_NUMBER;
+        hash = (53 * hash) + getSearchTermsList().hashCode();
+      }
+      if (getDocumentsCount() > 0) {
+        hash = (37 * hash) + DOCUMENTS_FIELD_NUMBER;
+        hash = (53 * hash) + getDocumentsList().hashCode();
+      }
+      if (hasMaxResults()) {
+        hash = (37 * hash) + MAX_RESULTS_FIELD_NUMBER;
+        hash = (53 * hash) + getMaxResults();
+      }
+      if (getInverseDocumentFrequenciesCount() > 0) {
+        hash = (37 * hash) + INVERSE_DOCUMENT_FREQUENCIES_FIELD_NUMBER;
+        hash = (53 * hash) + getInverseDocumentFrequenciesList().hashCode();
+      }
+      if (hasDeadlineMillis()) {
+        hash = (37 * hash) + DEADLINE_MILLIS_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getDeadlineMillis());
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static model.proto.SearchModel.Task parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static model.proto.SearchModel.Task parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static model.proto.SearchModel.Task parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static model.proto.SearchModel.Task parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static model.proto.SearchModel.Task parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static model.proto.SearchModel.Task parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static model.proto.SearchModel.Task parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static model.proto.SearchModel.Task parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static model.proto.SearchModel.Task parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static model.proto.SearchModel.Task parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static model.proto.SearchModel.Task parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static model.proto.SearchModel.Task parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(model.proto.SearchModel.Task prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code networking.Task}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:networking.Task)
+        model.proto.SearchModel.TaskOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return model.proto.SearchModel.internal_static_networking_Task_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return model.proto.SearchModel.internal_static_networking_Task_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                model.proto.SearchModel.Task.class, model.proto.SearchModel.Task.Builder.class);
+      }
+
+      // Construct using model.proto.SearchModel.Task.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        type_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        searchTerms_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        documents_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        maxResults_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        inverseDocumentFrequencies_ = emptyDoubleList();
+        bitField0_ = (bitField0_ & ~0x00000010);
+        deadlineMillis_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return model.proto.SearchModel.internal_static_networking_Task_descriptor;
+      }
+
+      @java.lang.Override
+      public model.proto.SearchModel.Task getDefaultInstanceForType() {
+        return model.proto.SearchModel.Task.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public model.proto.SearchModel.Task build() {
+        model.proto.SearchModel.Task result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public model.proto.SearchModel.Task buildPartial() {
+        model.proto.SearchModel.Task result = new model.proto.SearchModel.Task(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.type_ = type_;
+        if (((bitField0_ & 0x00000002) != 0)) {
+          searchTerms_ = searchTerms_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.searchTerms_ = searchTerms_;
+        if (((bitField0_ & 0x00000004) != 0)) {
+          documents_ = documents_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.documents_ = documents_;
+        if (((from_bitField0_ & 0x00000008) != 0)) {
+          result.maxResults_ = maxResults_;
+          to_bitField0_ |= 0x00000002;
+        }
+        if (((bitField0_ & 0x00000010) != 0)) {
+          inverseDocumentFrequencies_.makeImmutable();
+          bitField0_ = (bitField0_ & ~0x00000010);
+        }
+        result.inverseDocumentFrequencies_ = inverseDocumentFrequencies_;
+        if (((from_bitField0_ & 0x00000020) != 0)) {
+          result.deadlineMillis_ = deadlineMillis_;
+          to_bitField0_ |= 0x00000004;
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof model.proto.SearchModel.Task) {
+          return mergeFrom((model.proto.SearchModel.Task)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(model.proto.SearchModel.Task other) {
+        if (other == model.proto.SearchModel.Task.getDefaultInstance()) return this;
+        if (other.hasType()) {
+          setType(other.getType());
+        }
+        if (!other.searchTerms_.isEmpty()) {
+          if (searchTerms_.isEmpty()) {
+            searchTerms_ = other.searchTerms_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureSearchTermsIsMutable();
+            searchTerms_.addAll(other.searchTerms_);
+          }
+          onChanged();
+        }
+        if (!other.documents_.isEmpty()) {
+          if (documents_.isEmpty()) {
+            documents_ = other.documents_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensureDocumentsIsMutable();
+            documents_.addAll(other.documents_);
+          }
+          onChanged();
+        }
+        if (other.hasMaxResults()) {
+          setMaxResults(other.getMaxResults());
+        }
+        if (!other.inverseDocumentFrequencies_.isEmpty()) {
+          if (inverseDocumentFrequencies_.isEmpty()) {
+            inverseDocumentFrequencies_ = other.inverseDocumentFrequencies_;
+            bitField0_ = (bitField0_ & ~0x00000010);
+          } else {
+            ensureInverseDocumentFrequenciesIsMutable();
+            inverseDocumentFrequencies_.addAll(other.inverseDocumentFrequencies_);
+          }
+          onChanged();
+        }
+        if (other.hasDeadlineMillis()) {
+          setDeadlineMillis(other.getDeadlineMillis());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        model.proto.SearchModel.Task parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (model.proto.SearchModel.Task) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private int type_ = 0;
+      /**
+       * <code>optional .networking.Task.Type type = 1;</code>
+       * @return Whether the type field is set.
+       */
+      @java.lang.Override public boolean hasType() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>optional .networking.Task.Type type = 1;</code>
+       * @return The type.
+       */
+      @java.lang.Override
+      public model.proto.SearchModel.Task.Type getType() {
+        @SuppressWarnings("deprecation")
+        model.proto.SearchModel.Task.Type result = model.proto.SearchModel.Task.Type.valueOf(type_);
+        return result == null ? model.proto.SearchModel.Task.Type.TERM_FREQUENCIES : result;
+      }
+      /**
+       * <code>optional .networking.Task.Type type = 1;</code>
+       * @param value The type to set.
+       * @return This builder for chaining.
+       */
+      public Builder setType(model.proto.SearchModel.Task.Type value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        bitField0_ |= 0x00000001;
+        type_ = value.getNumber();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional .networking.Task.Type type = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearType() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        type_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.LazyStringList searchTerms_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureSearchTermsIsMutable() {
+        if (!((bitField0_ & 0x00000002) != 0)) {
+          searchTerms_ = new com.google.protobuf.LazyStringArrayList(searchTerms_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+      /**
+       * <code>repeated string search_terms = 2;</code>
+       * @return A list containing the searchTerms.
+       */
+      public com.google.protobuf.ProtocolStringList
+          getSearchTermsList() {
+        return searchTerms_.getUnmodifiableView();
+      }
+      /**
+       * <code>repeated string search_terms = 2;</code>
+       * @return The count of searchTerms.
+       */
+      public int getSearchTermsCount() {
+        return searchTerms_.size();
+      }
+      /**
+       * <code>repeated string search_terms = 2;</code>
+       * @param index The index of the element to return.
+       * @return The searchTerms at the given index.
+       */
+      public java.lang.String getSearchTerms(int index) {
+        return searchTerms_.get(index);
+      }
+      /**
+       * <code>repeated string search_terms = 2;</code>
+       * @param index The index of the value to return.
+       * @return The bytes of the searchTerms at the given index.
+       */
+      public com.google.protobuf.ByteString
+          getSearchTermsBytes(int index) {
+        return searchTerms_.getByteString(index);
+      }
+      /**
+       * <code>repeated string search_terms = 2;</code>
+       * @param index The index to set the value at.
+       * @param value The searchTerms to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSearchTerms(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureSearchTermsIsMutable();
+        searchTerms_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string search_terms = 2;</code>
+       * @param value The searchTerms to add.
+       * @return This builder for chaining.
+       */
+      public Builder addSearchTerms(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureSearchTermsIsMutable();
+        searchTerms_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string search_terms = 2;</code>
+       * @param values The searchTerms to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllSearchTerms(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureSearchTermsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, searchTerms_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string search_terms = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearSearchTerms() {
+        searchTerms_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string search_terms = 2;</code>
+       * @param value The bytes of the searchTerms to add.
+       * @return This builder for chaining.
+       */
+      public Builder addSearchTermsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureSearchTermsIsMutable();
+        searchTerms_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.LazyStringList documents_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureDocumentsIsMutable() {
+        if (!((bitField0_ & 0x00000004) != 0)) {
+          documents_ = new com.google.protobuf.LazyStringArrayList(documents_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      /**
+       * <code>repeated string documents = 3;</code>
+       * @return A list containing the documents.
+       */
+      public com.google.protobuf.ProtocolStringList
+          getDocumentsList() {
+        return documents_.getUnmodifiableView();
+      }
+      /**
+       * <code>repeated string documents = 3;</code>
+       * @return The count of documents.
+       */
+      public int getDocumentsCount() {
+        return documents_.size();
+      }
+      /**
+       * <code>repeated string documents = 3;</code>
+       * @param index The index of the element to return.
+       * @return The documents at the given index.
+       */
+      public java.lang.String getDocuments(int index) {
+        return documents_.get(index);
+      }
+      /**
+       * <code>repeated string documents = 3;</code>
+       * @param index The index of the value to return.
+       * @return The bytes of the documents at the given index.
+       */
+      public com.google.protobuf.ByteString
+          getDocumentsBytes(int index) {
+        return documents_.getByteString(index);
+      }
+      /**
+       * <code>repeated string documents = 3;</code>
+       * @param index The index to set the value at.
+       * @param value The documents to set.
+       * @return This builder for chaining.
+       */
+      public Builder setDocuments(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureDocumentsIsMutable();
+        documents_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string documents = 3;</code>
+       * @param value The documents to add.
+       * @return This builder for chaining.
+       */
+      public Builder addDocuments(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureDocumentsIsMutable();
+        documents_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string documents = 3;</code>
+       * @param values The documents to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllDocuments(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureDocumentsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, documents_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string documents = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearDocuments() {
+        documents_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string documents = 3;</code>
+       * @param value The bytes of the documents to add.
+       * @return This builder for chaining.
+       */
+      public Builder addDocumentsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureDocumentsIsMutable();
+        documents_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private int maxResults_ ;
+      /**
+       * <code>optional int32 max_results = 4;</code>
+       * @return Whether the maxResults field is set.
+       */
+      @java.lang.Override
+      public boolean hasMaxResults() {
+        return ((bitField0_ & 0x00000008) != 0);
+      }
+      /**
+       * <code>optional int32 max_results = 4;</code>
+       * @return The maxResults.
+       */
+      @java.lang.Override
+      public int getMaxResults() {
+        return maxResults_;
+      }
+      /**
+       * <code>optional int32 max_results = 4;</code>
+       * @param value The maxResults to set.
+       * @return This builder for chaining.
+       */
+      public Builder setMaxResults(int value) {
+        bitField0_ |= 0x00000008;
+        maxResults_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 max_results = 4;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearMaxResults() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        maxResults_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.Internal.DoubleList inverseDocumentFrequencies_ = emptyDoubleList();
+      private void ensureInverseDocumentFrequenciesIsMutable() {
+        if (!((bitField0_ & 0x00000010) != 0)) {
+          inverseDocumentFrequencies_ = mutableCopy(inverseDocumentFrequencies_);
+          bitField0_ |= 0x00000010;
+         }
+      }
+      /**
+       * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+       * @return A list containing the inverseDocumentFrequencies.
+       */
+      public java.util.List<java.lang.Double>
+          getInverseDocumentFrequenciesList() {
+        return ((bitField0_ & 0x00000010) != 0) ?
+                 java.util.Collections.unmodifiableList(inverseDocumentFrequencies_) : inverseDocumentFrequencies_;
+      }
+      /**
+       * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+       * @return The count of inverseDocumentFrequencies.
+       */
+      public int getInverseDocumentFrequenciesCount() {
+        return inverseDocumentFrequencies_.size();
+      }
+      /**
+       * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+       * @param index The index of the element to return.
+       * @return The inverseDocumentFrequencies at the given index.
+       */
+      public double getInverseDocumentFrequencies(int index) {
+        return inverseDocumentFrequencies_.getDouble(index);
+      }
+      /**
+       * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+       * @param index The index to set the value at.
+       * @param value The inverseDocumentFrequencies to set.
+       * @return This builder for chaining.
+       */
+      public Builder setInverseDocumentFrequencies(
+          int index, double value) {
+        ensureInverseDocumentFrequenciesIsMutable();
+        inverseDocumentFrequencies_.setDouble(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+       * @param value The inverseDocumentFrequencies to add.
+       * @return This builder for chaining.
+       */
+      public Builder addInverseDocumentFrequencies(double value) {
+        ensureInverseDocumentFrequenciesIsMutable();
+        inverseDocumentFrequencies_.addDouble(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+       * @param values The inverseDocumentFrequencies to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllInverseDocumentFrequencies(
+          java.lang.Iterable<? extends java.lang.Double> values) {
+        ensureInverseDocumentFrequenciesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, inverseDocumentFrequencies_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated double inverse_document_frequencies = 5 [packed = true];</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearInverseDocumentFrequencies() {
+        inverseDocumentFrequencies_ = emptyDoubleList();
+        bitField0_ = (bitField0_ & ~0x00000010);
+        onChanged();
+        return this;
+      }
+
+      private long deadlineMillis_ ;
+      /**
+       * <pre>
+       * time budget in milliseconds from when the worker receives the task
+       * </pre>
+       *
+       * <code>optional int64 deadline_millis = 6;</code>
+       * @return Whether the deadlineMillis field is set.
+       */
+      @java.lang.Override
+      public boolean hasDeadlineMillis() {
+        return ((bitField0_ & 0x00000020) != 0);
+      }
+      /**
+       * <pre>
+       * time budget in milliseconds from when the worker receives the task
+       * </pre>
+       *
+       * <code>optional int64 deadline_millis = 6;</code>
+       * @return The deadlineMillis.
+       */
+      @java.lang.Override
+      public long getDeadlineMillis() {
+        return deadlineMillis_;
+      }
+      /**
+       * <pre>
+       * time budget in milliseconds from when the worker receives the task
+       * </pre>
+       *
+       * <code>optional int64 deadline_millis = 6;</code>
+       * @param value The deadlineMillis to set.
+       * @return This builder for chaining.
+       */
+      public Builder setDeadlineMillis(long value) {
+        bitField0_ |= 0x00000020;
+        deadlineMillis_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * time budget in milliseconds from when the worker receives the task
+       * </pre>
+       *
+       * <code>optional int64 deadline_millis = 6;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearDeadlineMillis() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        deadlineMillis_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:networking.Task)
+    }
+
+    // @@protoc_insertion_point(class_scope:networking.Task)
+    private static final model.proto.SearchModel.Task DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new model.proto.SearchModel.Task();
+    }
+
+    public static model.proto.SearchModel.Task getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<Task>
+        PARSER = new com.google.protobuf.AbstractParser<Task>() {
+      @java.lang.Override
+      public Task parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new Task(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<Task> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Task> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public model.proto.SearchModel.Task getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface ResultOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:networking.Result)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>repeated string terms = 1;</code>
+     * @return A list containing the terms.
+     */
+    java.util.List<java.lang.String>
+        getTermsList();
+    /**
+     * <code>repeated string terms = 1;</code>
+     * @return The count of terms.
+     */
+    int getTermsCount();
+    /**
+     * <code>repeated string terms = 1;</code>
+     * @param index The index of the element to return.
+     * @return The terms at the given index.
+     */
+    java.lang.String getTerms(int index);
+    /**
+     * <code>repeated string terms = 1;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the terms at the given index.
+     */
+    com.google.protobuf.ByteString
+        getTermsBytes(int index);
+
+    /**
+     * <code>repeated string documents = 2;</code>
+     * @return A list containing the documents.
+     */
+    java.util.List<java.lang.String>
+        getDocumentsList();
+    /**
+     * <code>repeated string documents = 2;</code>
+     * @return The count of documents.
+     */
+    int getDocumentsCount();
+    /**
+     * <code>repeated string documents = 2;</code>
+     * @param index The index of the element to return.
+     * @return The documents at the given index.
+     */
+    java.lang.String getDocuments(int index);
+    /**
+     * <code>repeated string documents = 2;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the documents at the given index.
+     */
+    com.google.protobuf.ByteString
+        getDocumentsBytes(int index);
+
+    /**
+     * <pre>
+     * flattened as [document index * number of terms + term id]
+     * </pre>
+     *
+     * <code>repeated double term_frequencies = 3 [packed = true];</code>
+     * @return A list containing the termFrequencies.
+     */
+    java.util.List<java.lang.Double> getTermFrequenciesList();
+    /**
+     * <pre>
+     * flattened as [document index * number of terms + term id]
+     * </pre>
+     *
+     * <code>repeated double term_frequencies = 3 [packed = true];</code>
+     * @return The count of termFrequencies.
+     */
+    int getTermFrequenciesCount();
+    /**
+     * <pre>
+     * flattened as [document index * number of terms + term id]
+     * </pre>
+     *
+     * <code>repeated double term_frequencies = 3 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The termFrequencies at the given index.
+     */
+    double getTermFrequencies(int index);
+
+    /**
+     * <code>repeated double scores = 4 [packed = true];</code>
+     * @return A list containing the scores.
+     */
+    java.util.List<java.lang.Double> getScoresList();
+    /**
+     * <code>repeated double scores = 4 [packed = true];</code>
+     * @return The count of scores.
+     */
+    int getScoresCount();
+    /**
+     * <code>repeated double scores = 4 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The scores at the given index.
+     */
+    double getScores(int index);
+
+    /**
+     * <code>optional int32 shard_size = 5;</code>
+     * @return Whether the shardSize field is set.
+     */
+    boolean hasShardSize();
+    /**
+     * <code>optional int32 shard_size = 5;</code>
+     * @return The shardSize.
+     */
+    int getShardSize();
+
+    /**
+     * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+     * @return A list containing the documentFrequencies.
+     */
+    java.util.List<java.lang.Integer> getDocumentFrequenciesList();
+    /**
+     * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+     * @return The count of documentFrequencies.
+     */
+    int getDocumentFrequenciesCount();
+    /**
+     * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The documentFrequencies at the given index.
+     */
+    int getDocumentFrequencies(int index);
+
+    /**
+     * <pre>
+     * set when the worker ran out of time before processing all documents of its task, or left out
+     * documents it could not read
+     * </pre>
+     *
+     * <code>optional bool partial = 7;</code>
+     * @return Whether the partial field is set.
+     */
+    boolean hasPartial();
+    /**
+     * <pre>
+     * set when the worker ran out of time before processing all documents of its task, or left out
+     * documents it could not read
+     * </pre>
+     *
+     * <code>optional bool partial = 7;</code>
+     * @return The partial.
+     */
+    boolean getPartial();
+  }
+  /**
+   * Protobuf type {@code networking.Result}
+   */
+  public static final class Result extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:networking.Result)
+      ResultOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use Result.newBuilder() to construct.
+    private Result(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private Result() {
+      terms_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      documents_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      termFrequencies_ = emptyDoubleList();
+      scores_ = emptyDoubleList();
+      documentFrequencies_ = emptyIntList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new Result();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private Result(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 10: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              if (!((mutable_bitField0_ & 0x00000001) != 0)) {
+                terms_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              terms_.add(bs);
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              if (!((mutable_bitField0_ & 0x00000002) != 0)) {
+                documents_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              documents_.add(bs);
+              break;
+            }
+            case 25: {
+              if (!((mutable_bitField0_ & 0x00000004) != 0)) {
+                termFrequencies_ = newDoubleList();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              termFrequencies_.addDouble(input.readDouble());
+              break;
+            }
+            case 26: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000004) != 0) && input.getBytesUntilLimit() > 0) {
+                termFrequencies_ = newDoubleList();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                termFrequencies_.addDouble(input.readDouble());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 33: {
+              if (!((mutable_bitField0_ & 0x00000008) != 0)) {
+                scores_ = newDoubleList();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              scores_.addDouble(input.readDouble());
+              break;
+            }
+            case 34: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000008) != 0) && input.getBytesUntilLimit() > 0) {
+                scores_ = newDoubleList();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                scores_.addDouble(input.readDouble());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 40: {
+              bitField0_ |= 0x00000001;
+              shardSize_ = input.readInt32();
+              break;
+            }
+            case 48: {
+              if (!((mutable_bitField0_ & 0x00000020) != 0)) {
+                documentFrequencies_ = newIntList();
+                mutable_bitField0_ |= 0x00000020;
+              }
+              documentFrequencies_.addInt(input.readInt32());
+              break;
+            }
+            case 50: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000020) != 0) && input.getBytesUntilLimit() > 0) {
+                documentFrequencies_ = newIntList();
+                mutable_bitField0_ |= 0x00000020;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                documentFrequencies_.addInt(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 56: {
+              bitField0_ |= 0x00000002;
+              partial_ = input.readBool();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) != 0)) {
+          terms_ = terms_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00000002) != 0)) {
+          documents_ = documents_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00000004) != 0)) {
+          termFrequencies_.makeImmutable(); // C
+        }
+        if (((mutable_bitField0_ & 0x00000008) != 0)) {
+          scores_.makeImmutable(); // C
+        }
+        if (((mutable_bitField0_ & 0x00000020) != 0)) {
+          documentFrequencies_.makeImmutable(); // C
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return model.proto.SearchModel.internal_static_networking_Result_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return model.proto.SearchModel.internal_static_networking_Result_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              model.proto.SearchModel.Result.class, model.proto.SearchModel.Result.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int TERMS_FIELD_NUMBER = 1;
+    private com.google.protobuf.LazyStringList terms_;
+    /**
+     * <code>repeated string terms = 1;</code>
+     * @return A list containing the terms.
+     */
+    public com.google.protobuf.ProtocolStringList
+        getTermsList() {
+      return terms_;
+    }
+    /**
+     * <code>repeated string terms = 1;</code>
+     * @return The count of terms.
+     */
+    public int getTermsCount() {
+      return terms_.size();
+    }
+    /**
+     * <code>repeated string terms = 1;</code>
+     * @param index The index of the element to return.
+     * @return The terms at the given index.
+     */
+    public java.lang.String getTerms(int index) {
+      return terms_.get(index);
+    }
+    /**
+     * <code>repeated string terms = 1;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the terms at the given index.
+     */
+    public com.google.protobuf.ByteString
+        getTermsBytes(int index) {
+      return terms_.getByteString(index);
+    }
+
+    public static final int DOCUMENTS_FIELD_NUMBER = 2;
+    private com.google.protobuf.LazyStringList documents_;
+    /**
+     * <code>repeated string documents = 2;</code>
+     * @return A list containing the documents.
+     */
+    public com.google.protobuf.ProtocolStringList
+        getDocumentsList() {
+      return documents_;
+    }
+    /**
+     * <code>repeated string documents = 2;</code>
+     * @return The count of documents.
+     */
+    public int getDocumentsCount() {
+      return documents_.size();
+    }
+    /**
+     * <code>repeated string documents = 2;</code>
+     * @param index The index of the element to return.
+     * @return The documents at the given index.
+     */
+    public java.lang.String getDocuments(int index) {
+      return documents_.get(index);
+    }
+    /**
+     * <code>repeated string documents = 2;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the documents at the given index.
+     */
+    public com.google.protobuf.ByteString
+        getDocumentsBytes(int index) {
+      return documents_.getByteString(index);
+    }
+
+    public static final int TERM_FREQUENCIES_FIELD_NUMBER = 3;
+    private com.google.protobuf.Internal.DoubleList termFrequencies_;
+    /**
+     * <pre>
+     * flattened as [document index * number of terms + term id]
+     * </pre>
+     *
+     * <code>repeated double term_frequencies = 3 [packed = true];</code>
+     * @return A list containing the termFrequencies.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Double>
+        getTermFrequenciesList() {
+      return termFrequencies_;
+    }
+    /**
+     * <pre>
+     * flattened as [document index * number of terms + term id]
+     * </pre>
+     *
+     * <code>repeated double term_frequencies = 3 [packed = true];</code>
+     * @return The count of termFrequencies.
+     */
+    public int getTermFrequenciesCount() {
+      return termFrequencies_.size();
+    }
+    /**
+     * <pre>
+     * flattened as [document index * number of terms + term id]
+     * </pre>
+     *
+     * <code>repeated double term_frequencies = 3 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The termFrequencies at the given index.
+     */
+    public double getTermFrequencies(int index) {
+      return termFrequencies_.getDouble(index);
+    }
+    private int termFrequenciesMemoizedSerializedSize = -1;
+
+    public static final int SCORES_FIELD_NUMBER = 4;
+    private com.google.protobuf.Internal.DoubleList scores_;
+    /**
+     * <code>repeated double scores = 4 [packed = true];</code>
+     * @return A list containing the scores.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Double>
+        getScoresList() {
+      return scores_;
+    }
+    /**
+     * <code>repeated double scores = 4 [packed = true];</code>
+     * @return The count of scores.
+     */
+    public int getScoresCount() {
+      return scores_.size();
+    }
+    /**
+     * <code>repeated double scores = 4 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The scores at the given index.
+     */
+    public double getScores(int index) {
+      return scores_.getDouble(index);
+    }
+    private int scoresMemoizedSerializedSize = -1;
+
+    public static final int SHARD_SIZE_FIELD_NUMBER = 5;
+    private int shardSize_;
+    /**
+     * <code>optional int32 shard_size = 5;</code>
+     * @return Whether the shardSize field is set.
+     */
+    @java.lang.Override
+    public boolean hasShardSize() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional int32 shard_size = 5;</code>
+     * @return The shardSize.
+     */
+    @java.lang.Override
+    public int getShardSize() {
+      return shardSize_;
+    }
+
+    public static final int DOCUMENT_FREQUENCIES_FIELD_NUMBER = 6;
+    private com.google.protobuf.Internal.IntList documentFrequencies_;
+    /**
+     * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+     * @return A list containing the documentFrequencies.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Integer>
+        getDocumentFrequenciesList() {
+      return documentFrequencies_;
+    }
+    /**
+     * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+     * @return The count of documentFrequencies.
+     */
+    public int getDocumentFrequenciesCount() {
+      return documentFrequencies_.size();
+    }
+    /**
+     * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The documentFrequencies at the given index.
+     */
+    public int getDocumentFrequencies(int index) {
+      return documentFrequencies_.getInt(index);
+    }
+    private int documentFrequenciesMemoizedSerializedSize = -1;
+
+    public static final int PARTIAL_FIELD_NUMBER = 7;
+    private boolean partial_;
+    /**
+     * <pre>
+     * set when the worker ran out of time before processing all documents of its task, or left out
+     * documents it could not read
+     * </pre>
+     *
+     * <code>optional bool partial = 7;</code>
+     * @return Whether the partial field is set.
+     */
+    @java.lang.Override
+    public boolean hasPartial() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <pre>
+     * set when the worker ran out of time before processing all documents of its task, or left out
+     * documents it could not read
+     * </pre>
+     *
+     * <code>optional bool partial = 7;</code>
+     * @return The partial.
+     */
+    @java.lang.Override
+    public boolean getPartial() {
+      return partial_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      for (int i = 0; i < terms_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, terms_.getRaw(i));
+      }
+      for (int i = 0; i < documents_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, documents_.getRaw(i));
+      }
+      if (getTermFrequenciesList().size() > 0) {
+        output.writeUInt32NoTag(26);
+        output.writeUInt32NoTag(termFrequenciesMemoizedSerializedSize);
+      }
+      for (int i = 0; i < termFrequencies_.size(); i++) {
+        output.writeDoubleNoTag(termFrequencies_.getDouble(i));
+      }
+      if (getScoresList().size() > 0) {
+        output.writeUInt32NoTag(34);
+        output.writeUInt32NoTag(scoresMemoizedSerializedSize);
+      }
+      for (int i = 0; i < scores_.size(); i++) {
+        output.writeDoubleNoTag(scores_.getDouble(i));
+      }
+      if (((bitField0_ & 0x00000001) != 0)) {
+        output.writeInt32(5, shardSize_);
+      }
+      if (getDocumentFrequenciesList().size() > 0) {
+        output.writeUInt32NoTag(50);
+        output.writeUInt32NoTag(documentFrequenciesMemoizedSerializedSize);
+      }
+      for (int i = 0; i < documentFrequencies_.size(); i++) {
+        output.writeInt32NoTag(documentFrequencies_.getInt(i));
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        output.writeBool(7, partial_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      {
+        int dataSize = 0;
+        for (int i = 0; i < terms_.size(); i++) {
+          dataSize += computeStringSizeNoTag(terms_.getRaw(i));
+        }
+        size += dataSize;
+        size += 1 * getTermsList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < documents_.size(); i++) {
+          dataSize += computeStringSizeNoTag(documents_.getRaw(i));
+        }
+        size += dataSize;
+        size += 1 * getDocumentsList().size();
+      }
+      {
+        int dataSize = 0;
+        dataSize = 8 * getTermFrequenciesList().size();
+        size += dataSize;
+        if (!getTermFrequenciesList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        termFrequenciesMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        dataSize = 8 * getScoresList().size();
+        size += dataSize;
+        if (!getScoresList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        scoresMemoizedSerializedSize = dataSize;
+      }
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(5, shardSize_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < documentFrequencies_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(documentFrequencies_.getInt(i));
+        }
+        size += dataSize;
+        if (!getDocumentFrequenciesList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        documentFrequenciesMemoizedSerializedSize = dataSize;
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(7, partial_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof model.proto.SearchModel.Result)) {
+        return super.equals(obj);
+      }
+      model.proto.SearchModel.Result other = (model.proto.SearchModel.Result) obj;
+
+      if (!getTermsList()
+          .equals(other.getTermsList())) return false;
+      if (!getDocumentsList()
+          .equals(other.getDocumentsList())) return false;
+      if (!getTermFrequenciesList()
+          .equals(other.getTermFrequenciesList())) return false;
+      if (!getScoresList()
+          .equals(other.getScoresList())) return false;
+      if (hasShardSize() != other.hasShardSize()) return false;
+      if (hasShardSize()) {
+        if (getShardSize()
+            != other.getShardSize()) return false;
+      }
+      if (!getDocumentFrequenciesList()
+          .equals(other.getDocumentFrequenciesList())) return false;
+      if (hasPartial() != other.hasPartial()) return false;
+      if (hasPartial()) {
+        if (getPartial()
+            != other.getPartial()) return false;
+      }
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (getTermsCount() > 0) {
+        hash = (37 * hash) + TERMS_FIELD_NUMBER;
+        hash = (53 * hash) + getTermsList().hashCode();
+      }
+      if (getDocumentsCount() > 0) {
+        hash = (37 * hash) + DOCUMENTS_FIELD_NUMBER;
+        hash = (53 * hash) + getDocumentsList().hashCode();
+      }
+      if (getTermFrequenciesCount() > 0) {
+        hash = (37 * hash) + TERM_FREQUENCIES_FIELD_NUMBER;
+        hash = (53 * hash) + getTermFrequenciesList().hashCode();
+      }
+      if (getScoresCount() > 0) {
+        hash = (37 * hash) + SCORES_FIELD_NUMBER;
+        hash = (53 * hash) + getScoresList().hashCode();
+      }
+      if (hasShardSize()) {
+        hash = (37 * hash) + SHARD_SIZE_FIELD_NUMBER;
+        hash = (53 * hash) + getShardSize();
+      }
+      if (getDocumentFrequenciesCount() > 0) {
+        hash = (37 * hash) + DOCUMENT_FREQUENCIES_FIELD_NUMBER;
+        hash = (53 * hash) + getDocumentFrequenciesList().hashCode();
+      }
+      if (hasPartial()) {
+        hash = (37 * hash) + PARTIAL_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+            getPartial());
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static model.proto.SearchModel.Result parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static model.proto.SearchModel.Result parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static model.proto.SearchModel.Result parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static model.proto.SearchModel.Result parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static model.proto.SearchModel.Result parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static model.proto.SearchModel.Result parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static model.proto.SearchModel.Result parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static model.proto.SearchModel.Result parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static model.proto.SearchModel.Result parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static model.proto.SearchModel.Result parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static model.proto.SearchModel.Result parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static model.proto.SearchModel.Result parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(model.proto.SearchModel.Result prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code networking.Result}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:networking.Result)
+        model.proto.SearchModel.ResultOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return model.proto.SearchModel.internal_static_networking_Result_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return model.proto.SearchModel.internal_static_networking_Result_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                model.proto.SearchModel.Result.class, model.proto.SearchModel.Result.Builder.class);
+      }
+
+      // Construct using model.proto.SearchModel.Result.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        terms_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        documents_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        termFrequencies_ = emptyDoubleList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        scores_ = emptyDoubleList();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        shardSize_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        documentFrequencies_ = emptyIntList();
+        bitField0_ = (bitField0_ & ~0x00000020);
+        partial_ = false;
+        bitField0_ = (bitField0_ & ~0x00000040);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return model.proto.SearchModel.internal_static_networking_Result_descriptor;
+      }
+
+      @java.lang.Override
+      public model.proto.SearchModel.Result getDefaultInstanceForType() {
+        return model.proto.SearchModel.Result.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public model.proto.SearchModel.Result build() {
+        model.proto.SearchModel.Result result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public model.proto.SearchModel.Result buildPartial() {
+        model.proto.SearchModel.Result result = new model.proto.SearchModel.Result(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((bitField0_ & 0x00000001) != 0)) {
+          terms_ = terms_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        }
+        result.terms_ = terms_;
+        if (((bitField0_ & 0x00000002) != 0)) {
+          documents_ = documents_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.documents_ = documents_;
+        if (((bitField0_ & 0x00000004) != 0)) {
+          termFrequencies_.makeImmutable();
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.termFrequencies_ = termFrequencies_;
+        if (((bitField0_ & 0x00000008) != 0)) {
+          scores_.makeImmutable();
+          bitField0_ = (bitField0_ & ~0x00000008);
+        }
+        result.scores_ = scores_;
+        if (((from_bitField0_ & 0x00000010) != 0)) {
+          result.shardSize_ = shardSize_;
+          to_bitField0_ |= 0x00000001;
+        }
+        if (((bitField0_ & 0x00000020) != 0)) {
+          documentFrequencies_.makeImmutable();
+          bitField0_ = (bitField0_ & ~0x00000020);
+        }
+        result.documentFrequencies_ = documentFrequencies_;
+        if (((from_bitField0_ & 0x00000040) != 0)) {
+          result.partial_ = partial_;
+          to_bitField0_ |= 0x00000002;
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof model.proto.SearchModel.Result) {
+          return mergeFrom((model.proto.SearchModel.Result)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(model.proto.SearchModel.Result other) {
+        if (other == model.proto.SearchModel.Result.getDefaultInstance()) return this;
+        if (!other.terms_.isEmpty()) {
+          if (terms_.isEmpty()) {
+            terms_ = other.terms_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+          } else {
+            ensureTermsIsMutable();
+            terms_.addAll(other.terms_);
+          }
+          onChanged();
+        }
+        if (!other.documents_.isEmpty()) {
+          if (documents_.isEmpty()) {
+            documents_ = other.documents_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureDocumentsIsMutable();
+            documents_.addAll(other.documents_);
+          }
+          onChanged();
+        }
+        if (!other.termFrequencies_.isEmpty()) {
+          if (termFrequencies_.isEmpty()) {
+            termFrequencies_ = other.termFrequencies_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensureTermFrequenciesIsMutable();
+            termFrequencies_.addAll(other.termFrequencies_);
+          }
+          onChanged();
+        }
+        if (!other.scores_.isEmpty()) {
+          if (scores_.isEmpty()) {
+            scores_ = other.scores_;
+            bitField0_ = (bitField0_ & ~0x00000008);
+          } else {
+            ensureScoresIsMutable();
+            scores_.addAll(other.scores_);
+          }
+          onChanged();
+        }
+        if (other.hasShardSize()) {
+          setShardSize(other.getShardSize());
+        }
+        if (!other.documentFrequencies_.isEmpty()) {
+          if (documentFrequencies_.isEmpty()) {
+            documentFrequencies_ = other.documentFrequencies_;
+            bitField0_ = (bitField0_ & ~0x00000020);
+          } else {
+            ensureDocumentFrequenciesIsMutable();
+            documentFrequencies_.addAll(other.documentFrequencies_);
+          }
+          onChanged();
+        }
+        if (other.hasPartial()) {
+          setPartial(other.getPartial());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        model.proto.SearchModel.Result parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (model.proto.SearchModel.Result) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private com.google.protobuf.LazyStringList terms_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureTermsIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          terms_ = new com.google.protobuf.LazyStringArrayList(terms_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+      /**
+       * <code>repeated string terms = 1;</code>
+       * @return A list containing the terms.
+       */
+      public com.google.protobuf.ProtocolStringList
+          getTermsList() {
+        return terms_.getUnmodifiableView();
+      }
+      /**
+       * <code>repeated string terms = 1;</code>
+       * @return The count of terms.
+       */
+      public int getTermsCount() {
+        return terms_.size();
+      }
+      /**
+       * <code>repeated string terms = 1;</code>
+       * @param index The index of the element to return.
+       * @return The terms at the given index.
+       */
+      public java.lang.String getTerms(int index) {
+        return terms_.get(index);
+      }
+      /**
+       * <code>repeated string terms = 1;</code>
+       * @param index The index of the value to return.
+       * @return The bytes of the terms at the given index.
+       */
+      public com.google.protobuf.ByteString
+          getTermsBytes(int index) {
+        return terms_.getByteString(index);
+      }
+      /**
+       * <code>repeated string terms = 1;</code>
+       * @param index The index to set the value at.
+       * @param value The terms to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTerms(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureTermsIsMutable();
+        terms_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string terms = 1;</code>
+       * @param value The terms to add.
+       * @return This builder for chaining.
+       */
+      public Builder addTerms(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureTermsIsMutable();
+        terms_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string terms = 1;</code>
+       * @param values The terms to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllTerms(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureTermsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, terms_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string terms = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTerms() {
+        terms_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string terms = 1;</code>
+       * @param value The bytes of the terms to add.
+       * @return This builder for chaining.
+       */
+      public Builder addTermsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureTermsIsMutable();
+        terms_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.LazyStringList documents_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureDocumentsIsMutable() {
+        if (!((bitField0_ & 0x00000002) != 0)) {
+          documents_ = new com.google.protobuf.LazyStringArrayList(documents_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+      /**
+       * <code>repeated string documents = 2;</code>
+       * @return A list containing the documents.
+       */
+      public com.google.protobuf.ProtocolStringList
+          getDocumentsList() {
+        return documents_.getUnmodifiableView();
+      }
+      /**
+       * <code>repeated string documents = 2;</code>
+       * @return The count of documents.
+       */
+      public int getDocumentsCount() {
+        return documents_.size();
+      }
+      /**
+       * <code>repeated string documents = 2;</code>
+       * @param index The index of the element to return.
+       * @return The documents at the given index.
+       */
+      public java.lang.String getDocuments(int index) {
+        return documents_.get(index);
+      }
+      /**
+       * <code>repeated string documents = 2;</code>
+       * @param index The index of the value to return.
+       * @return The bytes of the documents at the given index.
+       */
+      public com.google.protobuf.ByteString
+          getDocumentsBytes(int index) {
+        return documents_.getByteString(index);
+      }
+      /**
+       * <code>repeated string documents = 2;</code>
+       * @param index The index to set the value at.
+       * @param value The documents to set.
+       * @return This builder for chaining.
+       */
+      public Builder setDocuments(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureDocumentsIsMutable();
+        documents_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string documents = 2;</code>
+       * @param value The documents to add.
+       * @return This builder for chaining.
+       */
+      public Builder addDocuments(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureDocumentsIsMutable();
+        documents_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string documents = 2;</code>
+       * @param values The documents to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllDocuments(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureDocumentsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, documents_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string documents = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearDocuments() {
+        documents_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string documents = 2;</code>
+       * @param value The bytes of the documents to add.
+       * @return This builder for chaining.
+       */
+      public Builder addDocumentsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureDocumentsIsMutable();
+        documents_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.Internal.DoubleList termFrequencies_ = emptyDoubleList();
+      private void ensureTermFrequenciesIsMutable() {
+        if (!((bitField0_ & 0x00000004) != 0)) {
+          termFrequencies_ = mutableCopy(termFrequencies_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      /**
+       * <pre>
+       * flattened as [document index * number of terms + term id]
+       * </pre>
+       *
+       * <code>repeated double term_frequencies = 3 [packed = true];</code>
+       * @return A list containing the termFrequencies.
+       */
+      public java.util.List<java.lang.Double>
+          getTermFrequenciesList() {
+        return ((bitField0_ & 0x00000004) != 0) ?
+                 java.util.Collections.unmodifiableList(termFrequencies_) : termFrequencies_;
+      }
+      /**
+       * <pre>
+       * flattened as [document index * number of terms + term id]
+       * </pre>
+       *
+       * <code>repeated double term_frequencies = 3 [packed = true];</code>
+       * @return The count of termFrequencies.
+       */
+      public int getTermFrequenciesCount() {
+        return termFrequencies_.size();
+      }
+      /**
+       * <pre>
+       * flattened as [document index * number of terms + term id]
+       * </pre>
+       *
+       * <code>repeated double term_frequencies = 3 [packed = true];</code>
+       * @param index The index of the element to return.
+       * @return The termFrequencies at the given index.
+       */
+      public double getTermFrequencies(int index) {
+        return termFrequencies_.getDouble(index);
+      }
+      /**
+       * <pre>
+       * flattened as [document index * number of terms + term id]
+       * </pre>
+       *
+       * <code>repeated double term_frequencies = 3 [packed = true];</code>
+       * @param index The index to set the value at.
+       * @param value The termFrequencies to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTermFrequencies(
+          int index, double value) {
+        ensureTermFrequenciesIsMutable();
+        termFrequencies_.setDouble(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * flattened as [document index * number of terms + term id]
+       * </pre>
+       *
+       * <code>repeated double term_frequencies = 3 [packed = true];</code>
+       * @param value The termFrequencies to add.
+       * @return This builder for chaining.
+       */
+      public Builder addTermFrequencies(double value) {
+        ensureTermFrequenciesIsMutable();
+        termFrequencies_.addDouble(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * flattened as [document index * number of terms + term id]
+       * </pre>
+       *
+       * <code>repeated double term_frequencies = 3 [packed = true];</code>
+       * @param values The termFrequencies to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllTermFrequencies(
+          java.lang.Iterable<? extends java.lang.Double> values) {
+        ensureTermFrequenciesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, termFrequencies_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * flattened as [document index * number of terms + term id]
+       * </pre>
+       *
+       * <code>repeated double term_frequencies = 3 [packed = true];</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTermFrequencies() {
+        termFrequencies_ = emptyDoubleList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.Internal.DoubleList scores_ = emptyDoubleList();
+      private void ensureScoresIsMutable() {
+        if (!((bitField0_ & 0x00000008) != 0)) {
+          scores_ = mutableCopy(scores_);
+          bitField0_ |= 0x00000008;
+         }
+      }
+      /**
+       * <code>repeated double scores = 4 [packed = true];</code>
+       * @return A list containing the scores.
+       */
+      public java.util.List<java.lang.Double>
+          getScoresList() {
+        return ((bitField0_ & 0x00000008) != 0) ?
+                 java.util.Collections.unmodifiableList(scores_) : scores_;
+      }
+      /**
+       * <code>repeated double scores = 4 [packed = true];</code>
+       * @return The count of scores.
+       */
+      public int getScoresCount() {
+        return scores_.size();
+      }
+      /**
+       * <code>repeated double scores = 4 [packed = true];</code>
+       * @param index The index of the element to return.
+       * @return The scores at the given index.
+       */
+      public double getScores(int index) {
+        return scores_.getDouble(index);
+      }
+      /**
+       * <code>repeated double scores = 4 [packed = true];</code>
+       * @param index The index to set the value at.
+       * @param value The scores to set.
+       * @return This builder for chaining.
+       */
+      public Builder setScores(
+          int index, double value) {
+        ensureScoresIsMutable();
+        scores_.setDouble(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated double scores = 4 [packed = true];</code>
+       * @param value The scores to add.
+       * @return This builder for chaining.
+       */
+      public Builder addScores(double value) {
+        ensureScoresIsMutable();
+        scores_.addDouble(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated double scores = 4 [packed = true];</code>
+       * @param values The scores to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllScores(
+          java.lang.Iterable<? extends java.lang.Double> values) {
+        ensureScoresIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, scores_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated double scores = 4 [packed = true];</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearScores() {
+        scores_ = emptyDoubleList();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+        return this;
+      }
+
+      private int shardSize_ ;
+      /**
+       * <code>optional int32 shard_size = 5;</code>
+       * @return Whether the shardSize field is set.
+       */
+      @java.lang.Override
+      public boolean hasShardSize() {
+        return ((bitField0_ & 0x00000010) != 0);
+      }
+      /**
+       * <code>optional int32 shard_size = 5;</code>
+       * @return The shardSize.
+       */
+      @java.lang.Override
+      public int getShardSize() {
+        return shardSize_;
+      }
+      /**
+       * <code>optional int32 shard_size = 5;</code>
+       * @param value The shardSize to set.
+       * @return This builder for chaining.
+       */
+      public Builder setShardSize(int value) {
+        bitField0_ |= 0x00000010;
+        shardSize_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 shard_size = 5;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearShardSize() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        shardSize_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.Internal.IntList documentFrequencies_ = emptyIntList();
+      private void ensureDocumentFrequenciesIsMutable() {
+        if (!((bitField0_ & 0x00000020) != 0)) {
+          documentFrequencies_ = mutableCopy(documentFrequencies_);
+          bitField0_ |= 0x00000020;
+         }
+      }
+      /**
+       * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+       * @return A list containing the documentFrequencies.
+       */
+      public java.util.List<java.lang.Integer>
+          getDocumentFrequenciesList() {
+        return ((bitField0_ & 0x00000020) != 0) ?
+                 java.util.Collections.unmodifiableList(documentFrequencies_) : documentFrequencies_;
+      }
+      /**
+       * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+       * @return The count of documentFrequencies.
+       */
+      public int getDocumentFrequenciesCount() {
+        return documentFrequencies_.size();
+      }
+      /**
+       * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+       * @param index The index of the element to return.
+       * @return The documentFrequencies at the given index.
+       */
+      public int getDocumentFrequencies(int index) {
+        return documentFrequencies_.getInt(index);
+      }
+      /**
+       * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+       * @param index The index to set the value at.
+       * @param value The documentFrequencies to set.
+       * @return This builder for chaining.
+       */
+      public Builder setDocumentFrequencies(
+          int index, int value) {
+        ensureDocumentFrequenciesIsMutable();
+        documentFrequencies_.setInt(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+       * @param value The documentFrequencies to add.
+       * @return This builder for chaining.
+       */
+      public Builder addDocumentFrequencies(int value) {
+        ensureDocumentFrequenciesIsMutable();
+        documentFrequencies_.addInt(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+       * @param values The documentFrequencies to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllDocumentFrequencies(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureDocumentFrequenciesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, documentFrequencies_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 document_frequencies = 6 [packed = true];</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearDocumentFrequencies() {
+        documentFrequencies_ = emptyIntList();
+        bitField0_ = (bitField0_ & ~0x00000020);
+        onChanged();
+        return this;
+      }
+
+      private boolean partial_ ;
+      /**
+       * <pre>
+       * set when the worker ran out of time before processing all documents of its task, or left out
+       * documents it could not read
+       * </pre>
+       *
+       * <code>optional bool partial = 7;</code>
+       * @return Whether the partial field is set.
+       */
+      @java.lang.Override
+      public boolean hasPartial() {
+        return ((bitField0_ & 0x00000040) != 0);
+      }
+      /**
+       * <pre>
+       * set when the worker ran out of time before processing all documents of its task, or left out
+       * documents it could not read
+       * </pre>
+       *
+       * <code>optional bool partial = 7;</code>
+       * @return The partial.
+       */
+      @java.lang.Override
+      public boolean getPartial() {
+        return partial_;
+      }
+      /**
+       * <pre>
+       * set when the worker ran out of time before processing all documents of its task, or left out
+       * documents it could not read
+       * </pre>
+       *
+       * <code>optional bool partial = 7;</code>
+       * @param value The partial to set.
+       * @return This builder for chaining.
+       */
+      public Builder setPartial(boolean value) {
+        bitField0_ |= 0x00000040;
+        partial_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * set when the worker ran out of time before processing all documents of its task, or left out
+       * documents it could not read
+       * </pre>
+       *
+       * <code>optional bool partial = 7;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearPartial() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        partial_ = false;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:networking.Result)
+    }
+
+    // @@protoc_insertion_point(class_scope:networking.Result)
+    private static final model.proto.SearchModel.Result DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new model.proto.SearchModel.Result();
+    }
+
+    public static model.proto.SearchModel.Result getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<Result>
+        PARSER = new com.google.protobuf.AbstractParser<Result>() {
+      @java.lang.Override
+      public Result parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new Result(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<Result> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Result> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public model.proto.SearchModel.Result getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_networking_Request_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_networking_Request_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_networking_Response_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_networking_Response_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_networking_Response_DocumentStats_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_networking_Response_DocumentStats_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_networking_Task_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_networking_Task_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_networking_Result_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_networking_Result_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n4src/main/java/model/proto/search_clust" +
+      "er_proto.proto\022\nnetworking\"M\n\007Request\022\024\n" +
+      "\014search_query\030\001 \002(\t\022\023\n\013max_results\030\002 \001(\005" +
+      "\022\027\n\017deadline_millis\030\003 \001(\003\"\271\001\n\010Response\022>" +
+      "\n\022relevant_documents\030\001 \003(\0132\".networking." +
+      "Response.DocumentStats\022\017\n\007partial\030\002 \001(\010\032" +
+      "\\\n\rDocumentStats\022\025\n\rdocument_name\030\001 \002(\t\022" +
+      "\r\n\005score\030\002 \001(\001\022\025\n\rdocument_size\030\003 \001(\003\022\016\n" +
+      "\006author\030\004 \001(\t\"\367\001\n\004Task\022#\n\004type\030\001 \001(\0162\025.n" +
+      "etworking.Task.Type\022\024\n\014search_terms\030\002 \003(" +
+      "\t\022\021\n\tdocuments\030\003 \003(\t\022\023\n\013max_results\030\004 \001(" +
+      "\005\022(\n\034inverse_document_frequencies\030\005 \003(\001B" +
+      "\002\020\001\022\027\n\017deadline_millis\030\006 \001(\003\"I\n\004Type\022\024\n\020" +
+      "TERM_FREQUENCIES\020\000\022\030\n\024DOCUMENT_FREQUENCI" +
+      "ES\020\001\022\021\n\rTOP_DOCUMENTS\020\002\"\243\001\n\006Result\022\r\n\005te" +
+      "rms\030\001 \003(\t\022\021\n\tdocuments\030\002 \003(\t\022\034\n\020term_fre" +
+      "quencies\030\003 \003(\001B\002\020\001\022\022\n\006scores\030\004 \003(\001B\002\020\001\022\022" +
+      "\n\nshard_size\030\005 \001(\005\022 \n\024document_frequenci" +
+      "es\030\006 \003(\005B\002\020\001\022\017\n\007partial\030\007 \001(\010B\032\n\013model.p" +
+      "rotoB\013SearchModel"
+    };
+    descriptor = com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        });
+    internal_static_networking_Request_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_networking_Request_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_networking_Request_descriptor,
+        new java.lang.String[] { "SearchQuery", "MaxResults", "DeadlineMillis", });
+    internal_static_networking_Response_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_networking_Response_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_networking_Response_descriptor,
+        new java.lang.String[] { "RelevantDocuments", "Partial", });
+    internal_static_networking_Response_DocumentStats_descriptor =
+      internal_static_networking_Response_descriptor.getNestedTypes().get(0);
+    internal_static_networking_Response_DocumentStats_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_networking_Response_DocumentStats_descriptor,
+        new java.lang.String[] { "DocumentName", "Score", "DocumentSize", "Author", });
+    internal_static_networking_Task_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_networking_Task_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_networking_Task_descriptor,
+        new java.lang.String[] { "Type", "SearchTerms", "Documents", "MaxResults", "InverseDocumentFrequencies", "DeadlineMillis", });
+    internal_static_networking_Result_descriptor =
+      getDescriptor().getMessageTypes().get(3);
+    internal_static_networking_Result_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_networking_Result_descriptor,
+        new java.lang.String[] { "Terms", "Documents", "TermFrequencies", "Scores", "ShardSize", "DocumentFrequencies", "Partial", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
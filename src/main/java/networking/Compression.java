@@ -0,0 +1,106 @@
+package networking;
+
+import model.BufferPool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+// Deflate content coding shared by WebClient and WebServer. Payloads below the threshold are sent as
+// they are, since compressing them costs more than the bytes it saves.
+class Compression {
+    static final String DEFLATE="deflate";
+    static final String ACCEPT_ENCODING="Accept-Encoding";
+    static final String CONTENT_ENCODING="Content-Encoding";
+    static final int THRESHOLD=Integer.getInteger("compression.threshold", 8*1024);
+
+    // true when deflate, or else *, is listed without a q value of 0
+    static boolean isDeflate(List<String> encodings){
+        if(encodings==null){
+            return false;
+        }
+        double anyEncodingQuality=0;
+        for(String header: encodings){
+            for(String encoding: header.split(",")){
+                String[] parameters=encoding.split(";");
+                String coding=parameters[0].trim();
+                if(coding.equalsIgnoreCase(DEFLATE)){
+                    return getQuality(parameters)>0;
+                }
+                if(coding.equals("*")){
+                    anyEncodingQuality=getQuality(parameters);
+                }
+            }
+        }
+        return anyEncodingQuality>0;
+    }
+
+    private static double getQuality(String[] parameters){
+        for(int i=1;i<parameters.length;i++){
+            String[] nameAndValue=parameters[i].split("=", 2);
+            if(nameAndValue.length==2 && nameAndValue[0].trim().equalsIgnoreCase("q")){
+                try{
+                    return Double.parseDouble(nameAndValue[1].trim());
+                }catch (NumberFormatException e){
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    static DeflaterOutputStream deflatingStream(OutputStream outputStream){
+        Deflater deflater=new Deflater(Deflater.BEST_SPEED);
+        return new DeflaterOutputStream(outputStream, deflater, 8192){
+            @Override
+            public void close() throws IOException {
+                try{
+                    super.close();
+                }finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    static byte[] deflate(byte[] data, int offset, int length){
+        ByteArrayOutputStream compressed=new ByteArrayOutputStream(Math.max(length/4, 64));
+        try(DeflaterOutputStream deflaterOutputStream=deflatingStream(compressed)){
+            deflaterOutputStream.write(data, offset, length);
+        }catch (IOException e){
+            throw new IllegalStateException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    // inflates the flipped buffer into a flipped buffer from bufferPool, the input is released
+    static ByteBuffer inflate(ByteBuffer compressed, BufferPool bufferPool) throws DataFormatException {
+        Inflater inflater=new Inflater();
+        ByteBuffer inflated=bufferPool.acquire(compressed.remaining()*4);
+        try{
+            inflater.setInput(compressed);
+            while(!inflater.finished()){
+                if(!inflated.hasRemaining()){
+                    inflated=bufferPool.grow(inflated);
+                }
+                if(inflater.inflate(inflated)==0 && (inflater.needsInput() || inflater.needsDictionary())){
+                    throw new DataFormatException("Truncated deflate stream");
+                }
+            }
+        }catch (DataFormatException e){
+            bufferPool.release(inflated);
+            throw e;
+        }finally {
+            inflater.end();
+            bufferPool.release(compressed);
+        }
+        inflated.flip();
+        return inflated;
+    }
+}
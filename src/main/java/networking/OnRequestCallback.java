@@ -1,6 +1,20 @@
 package networking;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 public interface OnRequestCallback {
     byte[] handleRequest(byte[] requestPayload);
     String getEndpoint();
+
+    // callbacks that wait on other services override this so the server thread is not held meanwhile
+    default CompletableFuture<byte[]> handleRequestAsync(byte[] requestPayload){
+        return CompletableFuture.completedFuture(handleRequest(requestPayload));
+    }
+
+    // metrics reported by the status endpoint, one header each
+    default Map<String, String> getStatus(){
+        return Collections.emptyMap();
+    }
 }
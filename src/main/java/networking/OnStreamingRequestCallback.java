@@ -0,0 +1,11 @@
+package networking;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// WebServer hands these callbacks the request and response bodies directly. The response is sent
+// chunked, so it can be written incrementally and never has to be held in memory as a whole.
+public interface OnStreamingRequestCallback extends OnRequestCallback {
+    void handleRequest(InputStream requestBody, OutputStream responseBody) throws IOException;
+}
@@ -0,0 +1,133 @@
+package networking;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs HTTP exchanges for WebServer. At most maxPendingRequests exchanges are running or queued at
+// any time, further ones are rejected and counted instead of piling up in an unbounded queue. The
+// HttpServer hands over whole exchanges, so a rejected one still has to be run to be answered: it is
+// run on a single thread of its own where isRejected() is true, and the handler answers it with a 503
+// without reading the request.
+public class RequestExecutor implements Executor {
+    private static final String VIRTUAL_THREADS="virtual";
+    private static final String PLATFORM_THREADS="platform";
+    private static final ThreadLocal<Boolean> REJECTED=ThreadLocal.withInitial(()->false);
+
+    private final ExecutorService executorService;
+    private final ExecutorService rejectedRequestService;
+    private final Semaphore pendingRequestSlots;
+    private final int maxPendingRequests;
+    private final AtomicLong rejectedRequests=new AtomicLong();
+
+    private RequestExecutor(ExecutorService executorService, int maxPendingRequests){
+        this.executorService=executorService;
+        this.maxPendingRequests=maxPendingRequests;
+        this.pendingRequestSlots=new Semaphore(maxPendingRequests);
+        // the thread only exists while there are rejected exchanges to answer
+        this.rejectedRequestService=new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(maxPendingRequests), runnable->{
+            Thread thread=new Thread(runnable, "web-server-rejected");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // -DrequestExecutor.mode=virtual or platform. -DrequestExecutor.threads sizes the pool of platform
+    // threads, which is also used when virtual threads are not available
+    public static RequestExecutor fromProperties(){
+        String mode=System.getProperty("requestExecutor.mode", VIRTUAL_THREADS);
+        int threads=Integer.getInteger("requestExecutor.threads", 32);
+        int maxPendingRequests=Integer.getInteger("requestExecutor.maxPendingRequests", 1024);
+        switch (mode){
+            case VIRTUAL_THREADS:
+                return virtualThreads(maxPendingRequests, threads);
+            case PLATFORM_THREADS:
+                return platformThreads(threads, maxPendingRequests);
+            default:
+                throw new IllegalArgumentException(String.format("requestExecutor.mode must be %s or %s, not %s", VIRTUAL_THREADS, PLATFORM_THREADS, mode));
+        }
+    }
+
+    public static RequestExecutor platformThreads(int threads, int maxPendingRequests){
+        AtomicInteger threadNumber=new AtomicInteger();
+        ThreadFactory threadFactory=runnable->{
+            Thread thread=new Thread(runnable, "web-server-"+threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new RequestExecutor(Executors.newFixedThreadPool(threads, threadFactory), maxPendingRequests);
+    }
+
+    // one virtual thread per request on JDK 21+, otherwise falls back to a pool of platform threads
+    public static RequestExecutor virtualThreads(int maxPendingRequests, int fallbackThreads){
+        try{
+            Method newVirtualThreadPerTaskExecutor=Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return new RequestExecutor((ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null), maxPendingRequests);
+        }catch (ReflectiveOperationException e){
+            System.out.println("Virtual threads are not available, using "+fallbackThreads+" platform threads");
+            return platformThreads(fallbackThreads, maxPendingRequests);
+        }
+    }
+
+    // only throws RejectedExecutionException when even the rejected exchanges pile up, or after shutdown
+    @Override
+    public void execute(Runnable request){
+        execute(request, ()->rejectedRequestService.execute(()->{
+            REJECTED.set(true);
+            try{
+                request.run();
+            }finally {
+                REJECTED.set(false);
+            }
+        }));
+    }
+
+    // runs onRejected on the calling thread instead of the request when every slot is taken
+    public void execute(Runnable request, Runnable onRejected){
+        if(!pendingRequestSlots.tryAcquire()){
+            rejectedRequests.incrementAndGet();
+            onRejected.run();
+            return;
+        }
+        try{
+            executorService.execute(()->{
+                try{
+                    request.run();
+                }finally {
+                    pendingRequestSlots.release();
+                }
+            });
+        }catch (RejectedExecutionException e){
+            pendingRequestSlots.release();
+            rejectedRequests.incrementAndGet();
+            throw e;
+        }
+    }
+
+    // true while an exchange that was rejected by execute(Runnable) runs
+    public static boolean isRejected(){
+        return REJECTED.get();
+    }
+
+    public int getPendingRequests(){
+        return maxPendingRequests-pendingRequestSlots.availablePermits();
+    }
+
+    public long getRejectedRequests(){
+        return rejectedRequests.get();
+    }
+
+    public void shutdown(){
+        executorService.shutdown();
+        rejectedRequestService.shutdown();
+    }
+}
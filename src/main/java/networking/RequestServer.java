@@ -0,0 +1,7 @@
+package networking;
+
+// A transport that serves an OnRequestCallback, either over HTTP (WebServer) or framed TCP (TcpServer)
+public interface RequestServer {
+    void startServer();
+    void stop();
+}
@@ -0,0 +1,180 @@
+package networking;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Client side of TcpServer. Keeps one connection per server and pipelines requests over it: writes go
+// out as soon as they are made and a reader thread per connection completes the matching future by
+// correlation id, in whatever order the responses arrive.
+public class TcpClient {
+    private static final int CONNECT_TIMEOUT_MILLIS=Integer.getInteger("tcpClient.connectTimeoutMillis", 2000);
+
+    private final Map<String, Connection> connections=new ConcurrentHashMap<>();
+    // servers being connected to, so concurrent sends to a new server wait for one connect instead of
+    // each opening their own, and sends to other servers are not held up by it
+    private final Map<String, CompletableFuture<Connection>> pendingConnections=new ConcurrentHashMap<>();
+
+    // the request is written before this returns, so the caller may reuse its buffer right away
+    public CompletableFuture<byte[]> send(URI uri, ByteBuffer requestPayload){
+        String address=uri.getHost()+":"+uri.getPort();
+        try{
+            return getConnection(address, uri).send(requestPayload);
+        }catch (IOException e){
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public void close(){
+        for(Connection connection: connections.values()){
+            connection.fail(new IOException("Client closed"));
+        }
+    }
+
+    private Connection getConnection(String address, URI uri) throws IOException {
+        Connection connection=connections.get(address);
+        if(connection!=null){
+            return connection;
+        }
+        CompletableFuture<Connection> pendingConnection=new CompletableFuture<>();
+        CompletableFuture<Connection> otherPendingConnection=pendingConnections.putIfAbsent(address, pendingConnection);
+        if(otherPendingConnection!=null){
+            return await(address, otherPendingConnection);
+        }
+        try{
+            // another send may have connected between the first lookup and claiming the connect
+            connection=connections.get(address);
+            if(connection==null){
+                connection=new Connection(address, connect(uri));
+                connections.put(address, connection);
+            }
+            pendingConnection.complete(connection);
+            return connection;
+        }catch (IOException e){
+            pendingConnection.completeExceptionally(e);
+            throw e;
+        }finally {
+            pendingConnections.remove(address, pendingConnection);
+        }
+    }
+
+    private static SocketChannel connect(URI uri) throws IOException {
+        SocketChannel channel=SocketChannel.open();
+        try{
+            channel.socket().connect(new InetSocketAddress(uri.getHost(), uri.getPort()), CONNECT_TIMEOUT_MILLIS);
+        }catch (IOException e){
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    private static Connection await(String address, CompletableFuture<Connection> pendingConnection) throws IOException {
+        try{
+            return pendingConnection.get();
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while connecting to "+address);
+        }catch (ExecutionException e){
+            throw new IOException("Could not connect to "+address, e.getCause());
+        }
+    }
+
+    private class Connection {
+        private final String address;
+        private final SocketChannel channel;
+        private final AtomicLong nextCorrelationId=new AtomicLong();
+        private final Map<Long, CompletableFuture<byte[]>> pendingResponses=new ConcurrentHashMap<>();
+        private final Object writeLock=new Object();
+        private volatile IOException failure;
+
+        Connection(String address, SocketChannel channel) throws IOException {
+            this.address=address;
+            this.channel=channel;
+            channel.socket().setTcpNoDelay(true);
+            Thread reader=new Thread(this::readResponses, "tcp-client-"+address);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        CompletableFuture<byte[]> send(ByteBuffer requestPayload) throws IOException {
+            long correlationId=nextCorrelationId.incrementAndGet();
+            CompletableFuture<byte[]> response=new CompletableFuture<>();
+            pendingResponses.put(correlationId, response);
+            ByteBuffer header=ByteBuffer.allocate(TcpServer.LENGTH_SIZE+TcpServer.CORRELATION_ID_SIZE);
+            header.putInt(TcpServer.CORRELATION_ID_SIZE+requestPayload.remaining()).putLong(correlationId).flip();
+            ByteBuffer payload=requestPayload.duplicate();
+            try{
+                synchronized (writeLock){
+                    while(header.hasRemaining() || payload.hasRemaining()){
+                        channel.write(new ByteBuffer[]{header, payload});
+                    }
+                }
+            }catch (IOException e){
+                fail(e);
+            }
+            // covers a failure that happened before the request was registered
+            if(failure!=null){
+                pendingResponses.remove(correlationId);
+                response.completeExceptionally(failure);
+            }
+            return response;
+        }
+
+        private void readResponses(){
+            try(DataInputStream input=new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)))){
+                while(true){
+                    int frameLength=input.readInt();
+                    if(frameLength<TcpServer.CORRELATION_ID_SIZE+1 || frameLength>TcpServer.MAX_FRAME_SIZE){
+                        throw new IOException("Invalid frame length "+frameLength);
+                    }
+                    long correlationId=input.readLong();
+                    byte status=input.readByte();
+                    byte[] payload=new byte[frameLength-TcpServer.CORRELATION_ID_SIZE-1];
+                    input.readFully(payload);
+                    CompletableFuture<byte[]> response=pendingResponses.remove(correlationId);
+                    if(response==null){
+                        continue;
+                    }
+                    if(status==TcpServer.STATUS_OK){
+                        response.complete(payload);
+                    }else if(status==TcpServer.STATUS_BUSY){
+                        response.completeExceptionally(new WorkerBusyException(address));
+                    }else{
+                        response.completeExceptionally(new IOException(address+" failed the request: "+new String(payload, StandardCharsets.UTF_8)));
+                    }
+                }
+            }catch (IOException e){
+                fail(e);
+            }
+        }
+
+        void fail(IOException e){
+            failure=e;
+            connections.remove(address, this);
+            try{
+                channel.close();
+            }catch (IOException closeException){
+                closeException.printStackTrace();
+            }
+            for(Long correlationId: pendingResponses.keySet()){
+                CompletableFuture<byte[]> response=pendingResponses.remove(correlationId);
+                if(response!=null){
+                    response.completeExceptionally(e);
+                }
+            }
+        }
+    }
+}
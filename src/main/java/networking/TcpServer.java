@@ -0,0 +1,258 @@
+package networking;
+
+import model.BufferPool;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+// Serves an OnRequestCallback over length prefixed frames on plain TCP connections. A request frame is
+// [int length][long correlation id][payload], a response frame is [int length][long correlation id]
+// [byte status][payload], where length counts the bytes after itself. One selector thread does all
+// socket I/O, requests run on the RequestExecutor, and responses may go out in any order, so clients
+// can pipeline requests on a single connection.
+public class TcpServer implements RequestServer {
+    static final int LENGTH_SIZE=4;
+    static final int CORRELATION_ID_SIZE=8;
+    static final int MAX_FRAME_SIZE=64*1024*1024;
+    static final byte STATUS_OK=0;
+    static final byte STATUS_ERROR=1;
+    // too many requests are pending, the client backs off and tries again later
+    static final byte STATUS_BUSY=2;
+
+    private final int port;
+    private final OnRequestCallback onRequestCallback;
+    private final RequestExecutor requestExecutor;
+    private final Queue<Connection> connectionsWithPendingWrites=new ConcurrentLinkedQueue<>();
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    public TcpServer(int port, OnRequestCallback onRequestCallback){
+        this(port, onRequestCallback, RequestExecutor.fromProperties());
+    }
+
+    public TcpServer(int port, OnRequestCallback onRequestCallback, RequestExecutor requestExecutor){
+        this.port=port;
+        this.onRequestCallback=onRequestCallback;
+        this.requestExecutor=requestExecutor;
+    }
+
+    @Override
+    public void startServer(){
+        try{
+            selector=Selector.open();
+            serverChannel=ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(port));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        }catch (IOException e){
+            e.printStackTrace();
+            return;
+        }
+        running=true;
+        selectorThread=new Thread(this::runSelector, "tcp-server-"+port);
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    @Override
+    public void stop(){
+        running=false;
+        if(selector!=null){
+            selector.wakeup();
+        }
+        try{
+            if(selectorThread!=null){
+                selectorThread.join();
+            }
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        requestExecutor.shutdown();
+    }
+
+    private void runSelector(){
+        while(running){
+            try{
+                selector.select();
+                Connection connection;
+                while((connection=connectionsWithPendingWrites.poll())!=null){
+                    if(connection.key.isValid()){
+                        connection.key.interestOps(connection.key.interestOps()|SelectionKey.OP_WRITE);
+                    }
+                }
+                Iterator<SelectionKey> selectedKeys=selector.selectedKeys().iterator();
+                while(selectedKeys.hasNext()){
+                    SelectionKey key=selectedKeys.next();
+                    selectedKeys.remove();
+                    handleKey(key);
+                }
+            }catch (IOException e){
+                e.printStackTrace();
+            }
+        }
+        for(SelectionKey key: selector.keys()){
+            if(key.attachment() instanceof Connection){
+                ((Connection) key.attachment()).close();
+            }
+        }
+        try{
+            serverChannel.close();
+            selector.close();
+        }catch (IOException e){
+            e.printStackTrace();
+        }
+    }
+
+    private void handleKey(SelectionKey key) throws IOException {
+        if(!key.isValid()){
+            return;
+        }
+        if(key.isAcceptable()){
+            SocketChannel channel=serverChannel.accept();
+            if(channel!=null){
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                Connection connection=new Connection(channel);
+                connection.key=channel.register(selector, SelectionKey.OP_READ, connection);
+            }
+            return;
+        }
+        Connection connection=(Connection) key.attachment();
+        try{
+            if(key.isReadable()){
+                connection.read();
+            }
+            if(key.isValid() && key.isWritable()){
+                connection.write();
+            }
+        }catch (IOException e){
+            // the client went away, its outstanding responses are dropped
+            connection.close();
+        }
+    }
+
+    private void dispatch(Connection connection, long correlationId, byte[] requestPayload){
+        try{
+            requestExecutor.execute(()->{
+                CompletableFuture<byte[]> response;
+                try{
+                    response=onRequestCallback.handleRequestAsync(requestPayload);
+                }catch (RuntimeException e){
+                    // synchronous callbacks fail by throwing, the client still has to be answered
+                    response=CompletableFuture.failedFuture(e);
+                }
+                response.whenComplete((responsePayload, error)->{
+                    if(error!=null){
+                        error.printStackTrace();
+                        connection.send(correlationId, STATUS_ERROR, String.valueOf(error).getBytes(StandardCharsets.UTF_8));
+                        return;
+                    }
+                    connection.send(correlationId, STATUS_OK, responsePayload);
+                });
+            }, ()->connection.send(correlationId, STATUS_BUSY, new byte[0]));
+        }catch (RejectedExecutionException e){
+            connection.send(correlationId, STATUS_ERROR, e.getMessage().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private class Connection {
+        private final SocketChannel channel;
+        private final Queue<ByteBuffer> writeQueue=new ConcurrentLinkedQueue<>();
+        private SelectionKey key;
+        private ByteBuffer readBuffer=BufferPool.HEAP.acquire(0);
+        private volatile boolean closed;
+
+        Connection(SocketChannel channel){
+            this.channel=channel;
+        }
+
+        // called on the selector thread only
+        void read() throws IOException {
+            if(!readBuffer.hasRemaining()){
+                readBuffer=BufferPool.HEAP.grow(readBuffer);
+            }
+            if(channel.read(readBuffer)==-1){
+                close();
+                return;
+            }
+            readBuffer.flip();
+            while(readBuffer.remaining()>=LENGTH_SIZE){
+                int frameLength=readBuffer.getInt(readBuffer.position());
+                if(frameLength<CORRELATION_ID_SIZE || frameLength>MAX_FRAME_SIZE){
+                    throw new IOException("Invalid frame length "+frameLength);
+                }
+                if(readBuffer.remaining()<LENGTH_SIZE+frameLength){
+                    break;
+                }
+                readBuffer.getInt();
+                long correlationId=readBuffer.getLong();
+                byte[] requestPayload=new byte[frameLength-CORRELATION_ID_SIZE];
+                readBuffer.get(requestPayload);
+                dispatch(this, correlationId, requestPayload);
+            }
+            readBuffer.compact();
+        }
+
+        // called on the selector thread only
+        void write() throws IOException {
+            ByteBuffer frame;
+            while((frame=writeQueue.peek())!=null){
+                channel.write(frame);
+                if(frame.hasRemaining()){
+                    return;
+                }
+                writeQueue.poll();
+                BufferPool.HEAP.release(frame);
+            }
+            // a send racing with this is picked up again through connectionsWithPendingWrites
+            key.interestOps(SelectionKey.OP_READ);
+        }
+
+        void send(long correlationId, byte status, byte[] payload){
+            ByteBuffer frame=BufferPool.HEAP.acquire(LENGTH_SIZE+CORRELATION_ID_SIZE+1+payload.length);
+            frame.putInt(CORRELATION_ID_SIZE+1+payload.length).putLong(correlationId).put(status).put(payload).flip();
+            writeQueue.add(frame);
+            if(closed){
+                releaseQueuedWrites();
+                return;
+            }
+            connectionsWithPendingWrites.add(this);
+            selector.wakeup();
+        }
+
+        void close(){
+            closed=true;
+            key.cancel();
+            try{
+                channel.close();
+            }catch (IOException e){
+                e.printStackTrace();
+            }
+            if(readBuffer!=null){
+                BufferPool.HEAP.release(readBuffer);
+                readBuffer=null;
+            }
+            releaseQueuedWrites();
+        }
+
+        private void releaseQueuedWrites(){
+            ByteBuffer frame;
+            while((frame=writeQueue.poll())!=null){
+                BufferPool.HEAP.release(frame);
+            }
+        }
+    }
+}
@@ -1,33 +1,147 @@
 package networking;
 
 
+import model.BufferPool;
 import model.Result;
 import model.SerializationUtils;
-import org.apache.zookeeper.server.util.SerializeUtils;
+import model.Task;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.zip.DataFormatException;
 
 public class WebClient {
+    private static final String TCP_SCHEME="tcp";
+
     private HttpClient client;
+    private final TcpClient tcpClient=new TcpClient();
+    private final BufferPool bufferPool;
+    // -DwebClient.compression=false turns off deflating requests and accepting deflated responses
+    private final boolean compression=Boolean.parseBoolean(System.getProperty("webClient.compression", "true"));
+    // workers that advertised they accept deflated requests
+    private final Set<String> workersAcceptingDeflate=ConcurrentHashMap.newKeySet();
 
     public WebClient(){
+        this(BufferPool.HEAP);
+    }
+
+    public WebClient(BufferPool bufferPool){
+        this.bufferPool=bufferPool;
         this.client = HttpClient.newBuilder()
                 .version(HttpClient.Version.HTTP_1_1)
                 .build();
     }
 
-    public CompletableFuture<Result> sendTask(String url, byte[] input){
-        //return new byte[0];
-        HttpRequest request=HttpRequest.newBuilder()
-                .POST(HttpRequest.BodyPublishers.ofByteArray(input))
-                .uri(URI.create(url))
-                .build();
-        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
-                .thenApply(HttpResponse::body)
-                .thenApply(responseBody->(Result) SerializationUtils.deserialize(responseBody));
+    // serializes the task into a pooled heap buffer, since the request publisher needs an array, and
+    // collects the response into a buffer from bufferPool. Both are released once the result is parsed
+    public CompletableFuture<Result> sendTask(String url, Task task){
+        ByteBuffer requestBuffer=SerializationUtils.serialize(task, BufferPool.HEAP);
+        if(isTcp(url)){
+            try{
+                return tcpClient.send(URI.create(url), requestBuffer)
+                        .thenApply(SerializationUtils::deserializeResult);
+            }finally {
+                BufferPool.HEAP.release(requestBuffer);
+            }
+        }
+        HttpRequest.Builder requestBuilder=HttpRequest.newBuilder().uri(URI.create(url));
+        if(compression){
+            requestBuilder.header(Compression.ACCEPT_ENCODING, Compression.DEFLATE);
+        }
+        if(compression && requestBuffer.remaining()>=Compression.THRESHOLD && workersAcceptingDeflate.contains(url)){
+            byte[] compressedRequest=Compression.deflate(requestBuffer.array(), requestBuffer.arrayOffset(), requestBuffer.remaining());
+            requestBuilder.header(Compression.CONTENT_ENCODING, Compression.DEFLATE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(compressedRequest));
+        }else{
+            requestBuilder.POST(HttpRequest.BodyPublishers.ofByteArray(requestBuffer.array(), requestBuffer.arrayOffset(), requestBuffer.remaining()));
+        }
+        return client.sendAsync(requestBuilder.build(), responseInfo -> new PooledBodySubscriber(bufferPool))
+                .whenComplete((response, error) -> BufferPool.HEAP.release(requestBuffer))
+                .thenApply(response -> {
+                    if(response.statusCode()!=200){
+                        bufferPool.release(response.body());
+                        throw new CompletionException(response.statusCode()==503
+                                ?new WorkerBusyException(url)
+                                :new IOException(url+" failed the request with status "+response.statusCode()));
+                    }
+                    if(Compression.isDeflate(response.headers().allValues(Compression.ACCEPT_ENCODING))){
+                        workersAcceptingDeflate.add(url);
+                    }
+                    ByteBuffer responseBuffer=response.body();
+                    try{
+                        if(Compression.isDeflate(response.headers().allValues(Compression.CONTENT_ENCODING))){
+                            ByteBuffer compressedResponse=responseBuffer;
+                            // inflate releases the compressed buffer, even when it fails
+                            responseBuffer=null;
+                            responseBuffer=Compression.inflate(compressedResponse, bufferPool);
+                        }
+                        return SerializationUtils.deserializeResult(responseBuffer);
+                    }catch (DataFormatException e){
+                        throw new CompletionException(e);
+                    }finally {
+                        if(responseBuffer!=null){
+                            bufferPool.release(responseBuffer);
+                        }
+                    }
+                });
+    }
+
+    // workers served by a TcpServer register themselves as tcp://host:port
+    private static boolean isTcp(String url){
+        return url.startsWith(TCP_SCHEME+"://");
+    }
+
+    private static class PooledBodySubscriber implements HttpResponse.BodySubscriber<ByteBuffer> {
+        private final BufferPool bufferPool;
+        private final CompletableFuture<ByteBuffer> body=new CompletableFuture<>();
+        private ByteBuffer buffer;
+
+        PooledBodySubscriber(BufferPool bufferPool){
+            this.bufferPool=bufferPool;
+        }
+
+        @Override
+        public CompletionStage<ByteBuffer> getBody(){
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription){
+            buffer=bufferPool.acquire(0);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> chunks){
+            for(ByteBuffer chunk: chunks){
+                while(buffer.remaining()<chunk.remaining()){
+                    buffer=bufferPool.grow(buffer);
+                }
+                buffer.put(chunk);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable){
+            bufferPool.release(buffer);
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete(){
+            buffer.flip();
+            body.complete(buffer);
+        }
     }
 }
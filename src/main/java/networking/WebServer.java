@@ -6,27 +6,34 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.zip.InflaterInputStream;
 
-public class WebServer {
+public class WebServer implements RequestServer {
     private static final String TASK_ENDPOINT="/task";
     private static final String STATUS_ENDPOINT="/status";
 
     private final int port;
     private HttpServer server;
     private final OnRequestCallback onRequestCallback;
+    private final RequestExecutor requestExecutor;
 
     public WebServer(int port, OnRequestCallback onRequestCallback){
+        this(port, onRequestCallback, RequestExecutor.fromProperties());
+    }
+
+    public WebServer(int port, OnRequestCallback onRequestCallback, RequestExecutor requestExecutor){
         this.port=port;
         this.onRequestCallback = onRequestCallback;
+        this.requestExecutor = requestExecutor;
     }
 
+    @Override
     public void startServer(){
         try{
             this.server=HttpServer.create(new InetSocketAddress(port), 0);
@@ -40,18 +47,26 @@ public class WebServer {
         statusContext.setHandler(this::handleStatusCheckRequest);
         taskContext.setHandler(this::handleTaskCheckRequest);
 
-        server.setExecutor(Executors.newFixedThreadPool(0));
+        server.setExecutor(requestExecutor);
         server.start();
     }
 
+    @Override
     public void stop(){
         server.stop(0);
+        requestExecutor.shutdown();
     }
     private void handleTaskCheckRequest(HttpExchange exchange) throws IOException{
         if(!exchange.getRequestMethod().equalsIgnoreCase("post")){
             exchange.close();
             return;
         }
+        if(RequestExecutor.isRejected()){
+            // too many requests are pending, the client backs off and tries again later
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
         Headers headers = exchange.getRequestHeaders();
         if (headers.containsKey("X-test") && headers.get("X-test").get(0).equalsIgnoreCase("true")) {
             String dummyresponse="123\n";
@@ -62,15 +77,49 @@ public class WebServer {
             isDebug=true;
             return;
         }
-        long startTime=System.nanoTime();
-        byte[] requestbytes=exchange.getRequestBody().readAllBytes();
-        byte[] responseBytes = onRequestCallback.handleRequest(exchange.getRequestBody().readAllBytes());//calculateResponse(requestbytes);
-        long endTime = System.nanoTime();
-        if(isDebug){
-            String debugMessage=String.format("Operation took %d ns\n",endTime-startTime);
-            exchange.getResponseHeaders().put("X-Debug-Info", Arrays.asList(debugMessage));
+        // tells clients they may deflate their requests, and deflates responses for clients that accept it
+        exchange.getResponseHeaders().add(Compression.ACCEPT_ENCODING, Compression.DEFLATE);
+        boolean deflateResponse=Compression.isDeflate(headers.get(Compression.ACCEPT_ENCODING));
+        InputStream requestBody=exchange.getRequestBody();
+        if(Compression.isDeflate(headers.get(Compression.CONTENT_ENCODING))){
+            requestBody=new InflaterInputStream(requestBody);
         }
-        sendResponse(responseBytes, exchange);
+        if(onRequestCallback instanceof OnStreamingRequestCallback){
+            handleStreamingRequest(exchange, requestBody, deflateResponse, (OnStreamingRequestCallback) onRequestCallback);
+            return;
+        }
+        long startTime=System.nanoTime();
+        // callbacks take the request as a byte[] of its own, so it is read straight into one
+        byte[] requestbytes=requestBody.readAllBytes();
+        boolean addDebugInfo=isDebug;
+        onRequestCallback.handleRequestAsync(requestbytes).whenComplete((responseBytes, error)->{
+            try{
+                if(error!=null){
+                    error.printStackTrace();
+                    exchange.sendResponseHeaders(500, -1);
+                    exchange.close();
+                    return;
+                }
+                long endTime = System.nanoTime();
+                if(addDebugInfo){
+                    String debugMessage=String.format("Operation took %d ns\n",endTime-startTime);
+                    exchange.getResponseHeaders().put("X-Debug-Info", Arrays.asList(debugMessage));
+                }
+                sendResponse(responseBytes, exchange, deflateResponse);
+            }catch (IOException e){
+                e.printStackTrace();
+                exchange.close();
+            }
+        });
+    }
+
+    private void handleStreamingRequest(HttpExchange exchange, InputStream requestBody, boolean deflateResponse,
+                                        OnStreamingRequestCallback streamingRequestCallback) throws IOException{
+        OutputStream responseBody=new DeferredResponseStream(exchange, deflateResponse);
+        streamingRequestCallback.handleRequest(requestBody, responseBody);
+        // only a completed response is terminated, if the callback throws the connection is dropped
+        // so the client cannot mistake a truncated body for a whole one
+        responseBody.close();
     }
 
     private byte[] calculateResponse(byte[] requestBytes){
@@ -90,8 +139,19 @@ public class WebServer {
             return;
         }
         String responseMessage = "Server is alive";
+        exchange.getResponseHeaders().add("X-Pending-Requests", String.valueOf(requestExecutor.getPendingRequests()));
+        exchange.getResponseHeaders().add("X-Rejected-Requests", String.valueOf(requestExecutor.getRejectedRequests()));
+        onRequestCallback.getStatus().forEach((name, value) -> exchange.getResponseHeaders().add("X-"+name, value));
         sendResponse(responseMessage.getBytes(), exchange);
     }
+    private void sendResponse(byte[] responseBytes, HttpExchange exchange, boolean deflateResponse) throws IOException{
+        if(deflateResponse && responseBytes.length>=Compression.THRESHOLD){
+            responseBytes=Compression.deflate(responseBytes, 0, responseBytes.length);
+            exchange.getResponseHeaders().add(Compression.CONTENT_ENCODING, Compression.DEFLATE);
+        }
+        sendResponse(responseBytes, exchange);
+    }
+
     private void sendResponse(byte[] responseBytes, HttpExchange exchange) throws IOException{
         exchange.sendResponseHeaders(200,responseBytes.length);
         OutputStream os = exchange.getResponseBody();
@@ -99,4 +159,73 @@ public class WebServer {
         os.flush();
         os.close();
     }
+
+    // Holds back the response headers until either Compression.THRESHOLD bytes have been written, at
+    // which point the rest of the response is streamed chunked and deflated if the client accepts it,
+    // or the response is closed, in which case it is sent as is with its exact length.
+    private static class DeferredResponseStream extends OutputStream {
+        private final HttpExchange exchange;
+        private final boolean deflateResponse;
+        private byte[] pending=new byte[Compression.THRESHOLD];
+        private int pendingLength;
+        private OutputStream output;
+
+        DeferredResponseStream(HttpExchange exchange, boolean deflateResponse){
+            this.exchange=exchange;
+            this.deflateResponse=deflateResponse;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if(output==null && pendingLength+length<pending.length){
+                System.arraycopy(bytes, offset, pending, pendingLength, length);
+                pendingLength+=length;
+                return;
+            }
+            if(output==null){
+                startStreaming();
+            }
+            output.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if(output!=null){
+                output.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if(output==null && pendingLength==0){
+                // with a length of -1 there is no body, writing to or closing the body stream would reset
+                // the connection for the next request on it, so only the exchange is closed
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+                output=OutputStream.nullOutputStream();
+            }
+            if(output==null){
+                exchange.sendResponseHeaders(200, pendingLength);
+                output=exchange.getResponseBody();
+                output.write(pending, 0, pendingLength);
+            }
+            output.close();
+        }
+
+        private void startStreaming() throws IOException {
+            if(deflateResponse){
+                exchange.getResponseHeaders().add(Compression.CONTENT_ENCODING, Compression.DEFLATE);
+            }
+            // a response length of 0 selects chunked transfer encoding
+            exchange.sendResponseHeaders(200, 0);
+            output=deflateResponse?Compression.deflatingStream(exchange.getResponseBody()):exchange.getResponseBody();
+            output.write(pending, 0, pendingLength);
+            pending=null;
+        }
+    }
 }
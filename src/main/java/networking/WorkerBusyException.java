@@ -0,0 +1,13 @@
+package networking;
+
+import java.io.IOException;
+
+// A worker turned a request away because too many were pending. Nothing is wrong with the worker, the
+// request can be sent again once it has caught up.
+public class WorkerBusyException extends IOException {
+    private static final long serialVersionUID=1L;
+
+    public WorkerBusyException(String worker){
+        super(worker+" is busy");
+    }
+}
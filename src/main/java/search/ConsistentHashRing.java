@@ -0,0 +1,58 @@
+package search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Places every worker on a hash ring at several virtual nodes. A key belongs to the first worker
+// clockwise from its hash, so adding or removing one of N workers only moves about 1/N of the keys.
+public class ConsistentHashRing {
+    private final TreeMap<Long, String> ring=new TreeMap<>();
+    private final int numberOfWorkers;
+
+    public ConsistentHashRing(Collection<String> workers, int virtualNodesPerWorker){
+        Set<String> distinctWorkers=new LinkedHashSet<>(workers);
+        for(String worker: distinctWorkers){
+            for(int virtualNode=0;virtualNode<virtualNodesPerWorker;virtualNode++){
+                ring.put(hash(worker+"#"+virtualNode), worker);
+            }
+        }
+        this.numberOfWorkers=distinctWorkers.size();
+    }
+
+    // every worker once, in the order they are met walking clockwise from the key
+    public List<String> getOwners(String key){
+        Set<String> owners=new LinkedHashSet<>();
+        long keyHash=hash(key);
+        for(String worker: ring.tailMap(keyHash, true).values()){
+            if(owners.add(worker) && owners.size()==numberOfWorkers){
+                return new ArrayList<>(owners);
+            }
+        }
+        for(String worker: ring.headMap(keyHash, false).values()){
+            if(owners.add(worker) && owners.size()==numberOfWorkers){
+                break;
+            }
+        }
+        return new ArrayList<>(owners);
+    }
+
+    // 64 bit FNV-1a, finished with the MurmurHash3 mixer so similar keys spread over the whole ring
+    static long hash(String key){
+        long hash=0xcbf29ce484222325L;
+        for(byte b: key.getBytes(StandardCharsets.UTF_8)){
+            hash^=b&0xff;
+            hash*=0x100000001b3L;
+        }
+        hash^=hash>>>33;
+        hash*=0xff51afd7ed558ccdL;
+        hash^=hash>>>33;
+        hash*=0xc4ceb9fe1a85ec53L;
+        hash^=hash>>>33;
+        return hash;
+    }
+}
@@ -0,0 +1,133 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class InvertedIndex {
+    private final Map<String, Integer> documentToId=new HashMap<>();
+    private final List<String> documents=new ArrayList<>();
+    private int[] documentLengths=new int[16];
+    private final Map<String, Postings> termToPostings=new HashMap<>();
+    private final ReadWriteLock lock=new ReentrantReadWriteLock();
+
+    public boolean containsDocument(String document){
+        lock.readLock().lock();
+        try{
+            return documentToId.containsKey(document);
+        }finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getNumberOfDocuments(){
+        lock.readLock().lock();
+        try{
+            return documents.size();
+        }finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addDocument(String document, TermCounts termCounts){
+        lock.writeLock().lock();
+        try{
+            if(documentToId.containsKey(document)){
+                return;
+            }
+            int documentId=documents.size();
+            documentToId.put(document, documentId);
+            documents.add(document);
+            if(documentId==documentLengths.length){
+                documentLengths=Arrays.copyOf(documentLengths, documentLengths.length*2);
+            }
+            documentLengths[documentId]=termCounts.getNumberOfTokens();
+
+            termCounts.forEach((term, count)->termToPostings.computeIfAbsent(term, key->new Postings()).add(documentId, count));
+        }finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // -1 marks a document that has not been indexed yet
+    public int[] getDocumentIds(List<String> documents){
+        int[] documentIds=new int[documents.size()];
+        lock.readLock().lock();
+        try{
+            for(int i=0;i<documentIds.length;i++){
+                Integer documentId=documentToId.get(documents.get(i));
+                documentIds[i]=documentId==null?-1:documentId;
+            }
+        }finally {
+            lock.readLock().unlock();
+        }
+        return documentIds;
+    }
+
+    public int getDocumentLength(int documentId){
+        lock.readLock().lock();
+        try{
+            return documentLengths[documentId];
+        }finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // counts[i] is the number of occurrences of term in documentIds[i]
+    public int[] getTermCounts(String term, int[] documentIds){
+        int[] counts=new int[documentIds.length];
+        // document ids in the high bits and positions in the low bits, so sorting orders by document id
+        long[] documentIdsAndPositions=new long[documentIds.length];
+        int numberOfIndexedDocuments=0;
+        for(int i=0;i<documentIds.length;i++){
+            if(documentIds[i]>=0){
+                documentIdsAndPositions[numberOfIndexedDocuments++]=((long) documentIds[i]<<32)|i;
+            }
+        }
+        Arrays.sort(documentIdsAndPositions, 0, numberOfIndexedDocuments);
+
+        lock.readLock().lock();
+        try{
+            Postings postings=termToPostings.get(term.toLowerCase(Locale.ROOT));
+            if(postings==null){
+                return counts;
+            }
+            // postings are in ascending document id order, so each search starts where the last one ended
+            int postingsStart=0;
+            for(int i=0;i<numberOfIndexedDocuments && postingsStart<postings.size;i++){
+                int documentId=(int) (documentIdsAndPositions[i]>>>32);
+                int found=Arrays.binarySearch(postings.documentIds, postingsStart, postings.size, documentId);
+                if(found>=0){
+                    counts[(int) documentIdsAndPositions[i]]=postings.counts[found];
+                    postingsStart=found;
+                }else{
+                    postingsStart=-found-1;
+                }
+            }
+            return counts;
+        }finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static class Postings {
+        private int[] documentIds=new int[4];
+        private int[] counts=new int[4];
+        private int size;
+
+        private void add(int documentId, int count){
+            if(size==documentIds.length){
+                documentIds=Arrays.copyOf(documentIds, size*2);
+                counts=Arrays.copyOf(counts, size*2);
+            }
+            documentIds[size]=documentId;
+            counts[size]=count;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package search;
+
+import java.util.Arrays;
+
+// Keeps the most recent response latencies and answers percentile queries over them
+public class LatencyTracker {
+    private final long[] samplesNanos;
+    private int numberOfSamples;
+    private int nextSample;
+
+    public LatencyTracker(int capacity){
+        this.samplesNanos=new long[capacity];
+    }
+
+    public synchronized void record(long latencyNanos){
+        samplesNanos[nextSample]=latencyNanos;
+        nextSample=(nextSample+1)%samplesNanos.length;
+        numberOfSamples=Math.min(numberOfSamples+1, samplesNanos.length);
+    }
+
+    public synchronized int getNumberOfSamples(){
+        return numberOfSamples;
+    }
+
+    // percentile between 0 and 1, or -1 when nothing has been recorded yet
+    public long getPercentileNanos(double percentile){
+        long[] sortedSamples;
+        synchronized (this){
+            if(numberOfSamples==0){
+                return -1;
+            }
+            sortedSamples=Arrays.copyOf(samplesNanos, numberOfSamples);
+        }
+        Arrays.sort(sortedSamples);
+        int rank=(int)Math.ceil(percentile*sortedSamples.length)-1;
+        return sortedSamples[Math.max(0, Math.min(rank, sortedSamples.length-1))];
+    }
+}
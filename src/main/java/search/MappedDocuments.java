@@ -0,0 +1,58 @@
+package search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Keeps the most recently read documents memory mapped so that later queries tokenize straight from
+// the page cache. Every mapping takes one of the process's memory map areas, which Linux limits to
+// vm.max_map_count (65530 by default), so only maxMappings of them are kept. An evicted mapping is
+// unmapped once the garbage collector finds it unreachable, never while a query still reads it. The
+// returned buffers are only read with absolute gets and can be shared.
+public class MappedDocuments {
+    private final int maxMappings;
+    private final LinkedHashMap<String, ByteBuffer> documentToBuffer;
+
+    public MappedDocuments(int maxMappings){
+        this.maxMappings=maxMappings;
+        this.documentToBuffer=new LinkedHashMap<>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ByteBuffer> eldest){
+                return size()>MappedDocuments.this.maxMappings;
+            }
+        };
+    }
+
+    public ByteBuffer get(String document) throws IOException {
+        synchronized (documentToBuffer){
+            ByteBuffer buffer=documentToBuffer.get(document);
+            if(buffer!=null){
+                return buffer;
+            }
+        }
+        ByteBuffer buffer=map(document);
+        synchronized (documentToBuffer){
+            ByteBuffer mappedBuffer=documentToBuffer.putIfAbsent(document, buffer);
+            return mappedBuffer!=null?mappedBuffer:buffer;
+        }
+    }
+
+    public int size(){
+        synchronized (documentToBuffer){
+            return documentToBuffer.size();
+        }
+    }
+
+    public static ByteBuffer map(String document) throws IOException {
+        try(FileChannel channel=FileChannel.open(Paths.get(document), StandardOpenOption.READ)){
+            if(channel.size()>Integer.MAX_VALUE){
+                throw new IOException(String.format("%s is too large to be mapped", document));
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package search;
+
+import model.proto.SearchModel;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Caches the responses of completed queries. Once the cached responses take more than maxBytes the
+// least recently used ones are evicted, and every response expires ttlNanos after it was stored.
+// Memory is approximated by the serialized size of the responses plus their keys.
+public class QueryResultCache {
+    // rough size of the map entry, the cache entry and the key object around each response
+    private static final int ENTRY_OVERHEAD_BYTES=128;
+
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, CachedResponse> cachedResponses=new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public QueryResultCache(long maxBytes, long ttlNanos){
+        this.maxBytes=maxBytes;
+        this.ttlNanos=ttlNanos;
+    }
+
+    // returns null when the response is not cached or has expired
+    public synchronized SearchModel.Response get(String key){
+        CachedResponse cachedResponse=cachedResponses.get(key);
+        if(cachedResponse!=null && System.nanoTime()-cachedResponse.storedNanos>ttlNanos){
+            cachedResponses.remove(key);
+            bytes-=cachedResponse.bytes;
+            expirations++;
+            cachedResponse=null;
+        }
+        if(cachedResponse==null){
+            misses++;
+            return null;
+        }
+        hits++;
+        return cachedResponse.response;
+    }
+
+    public synchronized void put(String key, SearchModel.Response response){
+        long responseBytes=ENTRY_OVERHEAD_BYTES+2L*key.length()+response.getSerializedSize();
+        if(responseBytes>maxBytes){
+            return;
+        }
+        CachedResponse previousResponse=cachedResponses.put(key, new CachedResponse(response, responseBytes, System.nanoTime()));
+        if(previousResponse!=null){
+            bytes-=previousResponse.bytes;
+        }
+        bytes+=responseBytes;
+        Iterator<CachedResponse> leastRecentlyUsed=cachedResponses.values().iterator();
+        while(bytes>maxBytes){
+            bytes-=leastRecentlyUsed.next().bytes;
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+    }
+
+    // returns the number of responses dropped
+    public synchronized int invalidateAll(){
+        int numberOfResponses=cachedResponses.size();
+        cachedResponses.clear();
+        bytes=0;
+        invalidations+=numberOfResponses;
+        return numberOfResponses;
+    }
+
+    public synchronized Map<String, String> getMetrics(){
+        Map<String, String> metrics=new LinkedHashMap<>();
+        metrics.put("Query-Cache-Hits", String.valueOf(hits));
+        metrics.put("Query-Cache-Misses", String.valueOf(misses));
+        metrics.put("Query-Cache-Hit-Rate", String.format("%.3f", hits+misses>0?(double)hits/(hits+misses):0));
+        metrics.put("Query-Cache-Entries", String.valueOf(cachedResponses.size()));
+        metrics.put("Query-Cache-Bytes", String.valueOf(bytes));
+        metrics.put("Query-Cache-Evictions", String.valueOf(evictions));
+        metrics.put("Query-Cache-Expirations", String.valueOf(expirations));
+        metrics.put("Query-Cache-Invalidations", String.valueOf(invalidations));
+        return metrics;
+    }
+
+    private static class CachedResponse {
+        private final SearchModel.Response response;
+        private final long bytes;
+        private final long storedNanos;
+
+        CachedResponse(SearchModel.Response response, long bytes, long storedNanos){
+            this.response=response;
+            this.bytes=bytes;
+            this.storedNanos=storedNanos;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Counts all terms of a query in a single pass over a document. The term lookup is built once per
+// query and matches tokens straight from the tokenizer buffer, so per document cost does not depend
+// on the number of query terms. Call reset() before reusing it for the next document.
+public class QueryTermCounter implements Tokenizer.TokenConsumer {
+    private final String[] slotTerms;
+    private final int[] slotHashes;
+    private final int[] slotCounts;
+    private final int[] termIdToSlot;
+    private int numberOfTokens;
+
+    public QueryTermCounter(List<String> terms){
+        int capacity=Integer.highestOneBit(Math.max(terms.size(), 1)*4);
+        slotTerms=new String[capacity];
+        slotHashes=new int[capacity];
+        slotCounts=new int[capacity];
+        termIdToSlot=new int[terms.size()];
+        for(int termId=0;termId<terms.size();termId++){
+            String term=terms.get(termId).toLowerCase(Locale.ROOT);
+            char[] termChars=term.toCharArray();
+            int slot=findSlot(termChars, termChars.length, TermCounts.hash(termChars, termChars.length));
+            if(slotTerms[slot]==null){
+                slotTerms[slot]=term;
+                slotHashes[slot]=TermCounts.hash(termChars, termChars.length);
+            }
+            termIdToSlot[termId]=slot;
+        }
+    }
+
+    @Override
+    public void accept(char[] buffer, int length){
+        numberOfTokens++;
+        int slot=findSlot(buffer, length, TermCounts.hash(buffer, length));
+        if(slotTerms[slot]!=null){
+            slotCounts[slot]++;
+        }
+    }
+
+    public void reset(){
+        Arrays.fill(slotCounts, 0);
+        numberOfTokens=0;
+    }
+
+    public int getNumberOfTerms(){
+        return termIdToSlot.length;
+    }
+
+    public int getNumberOfTokens(){
+        return numberOfTokens;
+    }
+
+    public int getCount(int termId){
+        return slotCounts[termIdToSlot[termId]];
+    }
+
+    public double getTermFrequency(int termId){
+        return numberOfTokens>0?(double)getCount(termId)/numberOfTokens:0;
+    }
+
+    private int findSlot(char[] buffer, int length, int hash){
+        int mask=slotTerms.length-1;
+        int slot=hash&mask;
+        while(slotTerms[slot]!=null && !(slotHashes[slot]==hash && TermCounts.matches(slotTerms[slot], buffer, length))){
+            slot=(slot+1)&mask;
+        }
+        return slot;
+    }
+}
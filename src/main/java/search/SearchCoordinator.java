@@ -2,9 +2,7 @@ package search;
 
 import cluster.management.ServiceRegistry;
 import com.google.protobuf.InvalidProtocolBufferException;
-import model.DocumentData;
 import model.Result;
-import model.SerializationUtils;
 import model.Task;
 import model.proto.SearchModel;
 import networking.OnRequestCallback;
@@ -14,71 +12,228 @@ import org.apache.zookeeper.KeeperException;
 import java.io.File;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class SearchCoordinator implements OnRequestCallback {
     private static final String ENDPOINT="/search";
-    private static final String BOOKS_DIRECTORY="./resources/books/";
+    public static final String BOOKS_DIRECTORY="./resources/books/";
+    // applies to requests that do not carry their own deadline
+    private static final long DEFAULT_DEADLINE_MILLIS=Long.getLong("searchCoordinator.deadlineMillis", 10000);
+    // workers get this share of the remaining time so their answer still arrives before the deadline
+    private static final double WORKER_DEADLINE_SHARE=0.8;
+    // every worker's documents are split into this many work units, so idle workers have work to steal
+    private static final int UNITS_PER_WORKER=Integer.getInteger("searchCoordinator.unitsPerWorker", 8);
+    // an idle worker runs a backup of a unit once it has been slower than this share of recent units
+    private static final double BACKUP_PERCENTILE=Double.parseDouble(System.getProperty("searchCoordinator.backupPercentile", "0.95"));
+    // backups start once this many latencies have been recorded
+    private static final int MIN_LATENCY_SAMPLES=20;
+    private static final int VIRTUAL_NODES_PER_WORKER=128;
+    // no worker is given more than this share above the average number of bytes. A tight bound makes
+    // documents spill over to other workers, so a change of workers moves many more than 1/N of them,
+    // while work stealing already evens out what a loose bound lets through
+    private static final double LOAD_BOUND=Double.parseDouble(System.getProperty("searchCoordinator.loadBound", "0.25"));
+    // 0 turns the result cache off
+    private static final long CACHE_MAX_BYTES=Long.getLong("searchCoordinator.cacheMaxBytes", 32*1024*1024);
+    private static final long CACHE_TTL_MILLIS=Long.getLong("searchCoordinator.cacheTtlMillis", 60000);
     private final ServiceRegistry workerServiceRegistry;
     private final WebClient client;
+    private final LatencyTracker latencyTracker=new LatencyTracker(1024);
+    private final WorkerLoadTracker workerLoadTracker=new WorkerLoadTracker();
     private List<String> documents;
+    // the work units of the documents owned by each of the current workers, redone when the set of workers changes
+    private Map<String, List<List<String>>> workerUnits;
+    private Set<String> assignedWorkers;
+    // identical queries that arrive while one is being searched share its response
+    private final Map<String, InFlightQuery> inFlightQueries=new ConcurrentHashMap<>();
+    private final AtomicLong coalescedQueries=new AtomicLong();
+    private final QueryResultCache resultCache=new QueryResultCache(CACHE_MAX_BYTES, CACHE_TTL_MILLIS*1000000);
+    // part of every cache key, so responses computed before a change of the corpus are never served after it
+    private long corpusVersion;
+    private Set<String> corpusWorkers;
+    private long documentsDirectoryModified;
 
     public SearchCoordinator(ServiceRegistry serviceRegistry, WebClient webClient){
+        this(serviceRegistry, webClient, new File(BOOKS_DIRECTORY).lastModified(), readDocumentList());
+    }
+
+    // documents is the listing of BOOKS_DIRECTORY as of documentsDirectoryModified
+    SearchCoordinator(ServiceRegistry serviceRegistry, WebClient webClient, long documentsDirectoryModified, List<String> documents){
         workerServiceRegistry=serviceRegistry;
         client=webClient;
+        this.documentsDirectoryModified=documentsDirectoryModified;
+        this.documents=documents;
     }
 
     @Override
     public byte[] handleRequest(byte[] requestPayload) {
+        return handleRequestAsync(requestPayload).join();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> handleRequestAsync(byte[] requestPayload) {
         SearchModel.Request request= null;
         try {
             request = SearchModel.Request.parseFrom(requestPayload);
-            SearchModel.Response response = createResponse(request);
-            return response.toByteArray();
         } catch (InvalidProtocolBufferException e) {
             e.printStackTrace();
-            return SearchModel.Response.getDefaultInstance().toByteArray();
+            return CompletableFuture.completedFuture(SearchModel.Response.getDefaultInstance().toByteArray());
         }
+        return createResponse(request).thenApply(SearchModel.Response::toByteArray);
     }
 
-    private SearchModel.Response createResponse(SearchModel.Request searchRequest){
-        SearchModel.Response.Builder searchResponse = SearchModel.Response.newBuilder();
-
+    private CompletableFuture<SearchModel.Response> createResponse(SearchModel.Request searchRequest){
         System.out.println("Received search query: "+searchRequest.getSearchQuery());
+        long deadlineMillis=searchRequest.getDeadlineMillis()>0?searchRequest.getDeadlineMillis():DEFAULT_DEADLINE_MILLIS;
+        long deadlineNanos=System.nanoTime()+deadlineMillis*1000000;
 
         List<String> searchTerms = TFIDF.getWordsFromLine(searchRequest.getSearchQuery());
 
-        List<String> workers = null;
+        List<String> workers = getWorkers();
+        if(workers==null || workers.isEmpty()){
+            System.out.println("No search workers currently available");
+            return CompletableFuture.completedFuture(SearchModel.Response.getDefaultInstance());
+        }
+
+        // terms never contain whitespace, so joining them keeps distinct term lists apart
+        String queryKey=getCorpusVersion(workers)+"/"+searchRequest.getMaxResults()+":"+String.join(" ", searchTerms);
+        SearchModel.Response cachedResponse=resultCache.get(queryKey);
+        if(cachedResponse!=null){
+            System.out.println("Answered from the result cache");
+            return CompletableFuture.completedFuture(cachedResponse);
+        }
+        // a query only joins one whose deadline is no later than its own, otherwise it would wait past its deadline
+        InFlightQuery query=new InFlightQuery(deadlineNanos);
+        InFlightQuery inFlightQuery=inFlightQueries.putIfAbsent(queryKey, query);
+        if(inFlightQuery!=null && inFlightQuery.deadlineNanos<=deadlineNanos){
+            System.out.println(String.format("Joined an identical query in flight, %d coalesced so far", coalescedQueries.incrementAndGet()));
+            return inFlightQuery.response;
+        }
+        if(inFlightQuery!=null){
+            return searchAndCache(searchRequest, workers, searchTerms, deadlineNanos, queryKey);
+        }
+        // composed so that an exception thrown by search also frees the key for the next identical query
+        CompletableFuture.completedFuture(searchRequest).thenCompose(request -> searchAndCache(request, workers, searchTerms, deadlineNanos, queryKey)).whenComplete((response, error) -> {
+            inFlightQueries.remove(queryKey, query);
+            if(error!=null){
+                query.response.completeExceptionally(error);
+            }else{
+                query.response.complete(response);
+            }
+        });
+        return query.response;
+    }
+
+    private List<String> getWorkers(){
         try {
-            workers = workerServiceRegistry.getAllServiceAddresses();
+            return workerServiceRegistry.getAllServiceAddresses();
         } catch (KeeperException e) {
             e.printStackTrace();
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
+        return null;
+    }
 
-        if(workers==null || workers.isEmpty()){
-            System.out.println("No search workers currently available");
-            return searchResponse.build();
+    // partial responses are not cached, the next identical query gets another chance to complete
+    private CompletableFuture<SearchModel.Response> searchAndCache(SearchModel.Request searchRequest, List<String> workers, List<String> searchTerms,
+                                                                   long deadlineNanos, String queryKey){
+        return search(searchRequest, workers, searchTerms, deadlineNanos).thenApply(response -> {
+            if(!response.getPartial()){
+                resultCache.put(queryKey, response);
+            }
+            return response;
+        });
+    }
+
+    // The corpus version changes when documents are added to or removed from the books directory, or
+    // when workers join or leave. Editing a document in place leaves the directory alone, such edits
+    // show once the cached responses expire
+    private synchronized long getCorpusVersion(List<String> workers){
+        Set<String> currentWorkers=new HashSet<>(workers);
+        boolean changed=corpusWorkers!=null && !currentWorkers.equals(corpusWorkers);
+        corpusWorkers=currentWorkers;
+        long directoryModified=new File(BOOKS_DIRECTORY).lastModified();
+        if(directoryModified!=documentsDirectoryModified){
+            documentsDirectoryModified=directoryModified;
+            List<String> currentDocuments=readDocumentList();
+            if(!new HashSet<>(currentDocuments).equals(new HashSet<>(documents))){
+                System.out.println(String.format("The document set changed from %d to %d documents", documents.size(), currentDocuments.size()));
+                documents=currentDocuments;
+                // the work units are split again on the next search
+                workerUnits=null;
+                changed=true;
+            }
+        }
+        if(changed){
+            corpusVersion++;
+            System.out.println(String.format("The corpus changed, dropped %d cached responses", resultCache.invalidateAll()));
         }
-        List<Task> tasks = createTasks(workers.size(), searchTerms);
-        List<Result> results = sendTasksToWorkers(workers, tasks);
+        return corpusVersion;
+    }
+
+    private CompletableFuture<SearchModel.Response> search(SearchModel.Request searchRequest, List<String> workers, List<String> searchTerms, long deadlineNanos){
+        SearchModel.Response.Builder searchResponse = SearchModel.Response.newBuilder();
+        CompletableFuture<List<SearchModel.Response.DocumentStats>> sortedDocuments;
+        if(searchRequest.getMaxResults()>0){
+            sortedDocuments = searchTopDocuments(workers, searchTerms, searchRequest.getMaxResults(), deadlineNanos, searchResponse);
+        }else{
+            Map<String, List<Task>> tasks = createTasks(getWorkerUnits(workers), documents -> new Task(searchTerms, documents));
+            sortedDocuments = sendTasksToWorkers(tasks, deadlineNanos, searchResponse)
+                    .thenApply(results -> aggregateResults(results, searchTerms));
+        }
+        return sortedDocuments.thenApply(documents -> searchResponse.addAllRelevantDocuments(documents).build());
+    }
+
+    // phase one gathers document frequencies to compute the global IDF, phase two has every worker
+    // score its own shard with it and return only its local top K
+    private CompletableFuture<List<SearchModel.Response.DocumentStats>> searchTopDocuments(List<String> workers, List<String> searchTerms, int maxResults,
+                                                                                         long deadlineNanos, SearchModel.Response.Builder searchResponse){
+        Map<String, List<List<String>>> workerUnits=getWorkerUnits(workers);
 
-        List<SearchModel.Response.DocumentStats> sortedDocuments = aggregateResults(results, searchTerms);
-        searchResponse.addAllRelevantDocuments(sortedDocuments);
+        Map<String, List<Task>> documentFrequencyTasks=createTasks(workerUnits, documents -> Task.forDocumentFrequencies(searchTerms, documents));
+        // phase one may use half of the remaining time, so a slow worker cannot leave none for phase two
+        long startTime=System.nanoTime();
+        long documentFrequencyDeadlineNanos=startTime+(deadlineNanos-startTime)/2;
+        return sendTasksToWorkers(documentFrequencyTasks, documentFrequencyDeadlineNanos, searchResponse).thenCompose(documentFrequencyResults -> {
+            double[] inverseDocumentFrequencies=getGlobalInverseDocumentFrequencies(documentFrequencyResults, searchTerms.size());
+
+            Map<String, List<Task>> topDocumentsTasks=createTasks(workerUnits,
+                    documents -> Task.forTopDocuments(searchTerms, documents, inverseDocumentFrequencies, maxResults));
+            return sendTasksToWorkers(topDocumentsTasks, deadlineNanos, searchResponse);
+        }).thenApply(topDocumentsResults -> {
+            System.out.println(String.format("Merging the top %d documents of %d work units", maxResults, topDocumentsResults.size()));
+            Result topDocuments=TFIDF.mergeTopDocuments(topDocumentsResults, searchTerms, maxResults);
+            return getTopDocumentsStats(topDocuments);
+        });
+    }
 
-        return searchResponse.build();
+    private static double[] getGlobalInverseDocumentFrequencies(List<Result> documentFrequencyResults, int numberOfTerms){
+        long numberOfDocuments=0;
+        long[] documentFrequencies=new long[numberOfTerms];
+        for(Result result: documentFrequencyResults){
+            numberOfDocuments+=result.getShardSize();
+            for(int termId=0;termId<numberOfTerms;termId++){
+                documentFrequencies[termId]+=result.getDocumentFrequency(termId);
+            }
+        }
+        double[] inverseDocumentFrequencies=new double[numberOfTerms];
+        for(int termId=0;termId<numberOfTerms;termId++){
+            inverseDocumentFrequencies[termId]=TFIDF.calculateInverseDocumentFrequency(documentFrequencies[termId], numberOfDocuments);
+        }
+        return inverseDocumentFrequencies;
     }
 
     private List<SearchModel.Response.DocumentStats> aggregateResults(List<Result> results, List<String> terms){
-        Map<String, DocumentData> allDocumentsResults=new HashMap<>();
+        Result allDocumentsResults=new Result(terms);
 
         for(Result result: results){
-            allDocumentsResults.putAll(result.getDocumentToDocumentData());
+            allDocumentsResults.addAll(result);
         }
         System.out.println("Calculating score for all documents");
-        Map<Double, List<String>> scoreToDocuments=TFIDF.getDocumentsSortedByScore(terms, allDocumentsResults);
+        Map<Double, List<String>> scoreToDocuments=TFIDF.getDocumentsSortedByScore(allDocumentsResults);
 
         return sortDocumentsByScore(scoreToDocuments);
     }
@@ -89,79 +244,191 @@ public class SearchCoordinator implements OnRequestCallback {
             double score=docScorePair.getKey();
 
             for(String document: docScorePair.getValue()){
-                File documentPath=new File(document);
-
-                SearchModel.Response.DocumentStats documentStats=SearchModel.Response.DocumentStats.newBuilder()
-                        .setScore(score)
-                        .setDocumentName(documentPath.getName())
-                        .setDocumentSize(documentPath.length())
-                        .build();
-                sortedDocumentsStatsList.add(documentStats);
+                sortedDocumentsStatsList.add(createDocumentStats(document, score));
             }
         }
         return sortedDocumentsStatsList;
     }
 
+    private List<SearchModel.Response.DocumentStats> getTopDocumentsStats(Result topDocuments){
+        List<SearchModel.Response.DocumentStats> topDocumentsStatsList=new ArrayList<>(topDocuments.getNumberOfDocuments());
+        for(int rank=0;rank<topDocuments.getNumberOfDocuments();rank++){
+            topDocumentsStatsList.add(createDocumentStats(topDocuments.getDocument(rank), topDocuments.getScore(rank)));
+        }
+        return topDocumentsStatsList;
+    }
+
+    private static SearchModel.Response.DocumentStats createDocumentStats(String document, double score){
+        File documentPath=new File(document);
+
+        return SearchModel.Response.DocumentStats.newBuilder()
+                .setScore(score)
+                .setDocumentName(documentPath.getName())
+                .setDocumentSize(documentPath.length())
+                .build();
+    }
+
 
     @Override
     public String getEndpoint() {
         return ENDPOINT;
     }
 
-    private List<Result> sendTasksToWorkers(List<String> workers, List<Task> tasks){
-        CompletableFuture<Result>[] futures = new CompletableFuture[workers.size()];
-        for(int i=0;i<workers.size();i++){
-            String worker=workers.get(i);
-            Task task=tasks.get(i);
-            byte[] payload= SerializationUtils.serialize(task);
-            futures[i]=client.sendTask(worker, payload);
-        }
-        List<Result> results=new ArrayList<>();
-        for(CompletableFuture<Result> future: futures){
-            try{
-                Result result= future.get();
-                results.add(result);
-            }catch (InterruptedException| ExecutionException e){
-                e.printStackTrace();
+    @Override
+    public Map<String, String> getStatus() {
+        return resultCache.getMetrics();
+    }
+
+    // completes once every work unit was answered or the deadline passed. Only the results that arrived
+    // in time are returned, and the response is marked partial if any are missing or partial
+    private CompletableFuture<List<Result>> sendTasksToWorkers(Map<String, List<Task>> tasksByWorker, long deadlineNanos,
+                                                               SearchModel.Response.Builder searchResponse){
+        if(deadlineNanos-System.nanoTime()<=0){
+            System.out.println("Deadline passed before the tasks could be sent");
+            searchResponse.setPartial(true);
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        long backupDelayNanos=latencyTracker.getNumberOfSamples()>=MIN_LATENCY_SAMPLES?latencyTracker.getPercentileNanos(BACKUP_PERCENTILE):-1;
+        WorkStealingDispatcher dispatcher=new WorkStealingDispatcher(client, workerLoadTracker, latencyTracker,
+                tasksByWorker, backupDelayNanos, deadlineNanos, WORKER_DEADLINE_SHARE);
+        return dispatcher.dispatch().thenApply(results -> {
+            if(dispatcher.isPartial()){
+                searchResponse.setPartial(true);
             }
+            return results;
+        });
+    }
+
+    private static Map<String, List<Task>> createTasks(Map<String, List<List<String>>> workerUnits, Function<List<String>, Task> createTask){
+        Map<String, List<Task>> tasksByWorker=new LinkedHashMap<>();
+        for(Map.Entry<String, List<List<String>>> units: workerUnits.entrySet()){
+            List<Task> tasks=new ArrayList<>();
+            for(List<String> unitDocuments: units.getValue()){
+                tasks.add(createTask.apply(unitDocuments));
+            }
+            tasksByWorker.put(units.getKey(), tasks);
         }
-        System.out.println(String.format("Received %d/%d results", results.size(), tasks.size()));
-        return results;
+        return tasksByWorker;
     }
 
-    private List<Task> createTasks(int numberOfWorkers, List<String> searchTerms){
-        List<List<String>> workerDocuments=splitDocumentList(numberOfWorkers,documents);
-        List<Task> tasks=new ArrayList<>();
+    // every worker is listed, including those that own no documents, so that all of them can steal work
+    private synchronized Map<String, List<List<String>>> getWorkerUnits(List<String> workers){
+        Set<String> currentWorkers=new HashSet<>(workers);
+        if(workerUnits==null || !currentWorkers.equals(assignedWorkers)){
+            workerUnits=new LinkedHashMap<>();
+            for(String worker: workers){
+                workerUnits.put(worker, new ArrayList<>());
+            }
+            splitDocumentList(workers, documents).forEach((worker, workerDocuments) -> workerUnits.put(worker, splitIntoUnits(workerDocuments)));
+            assignedWorkers=currentWorkers;
+        }
+        return workerUnits;
+    }
 
-        for(List<String> documentsForWorker: workerDocuments){
-            Task task = new Task(searchTerms, documentsForWorker);
-            tasks.add(task);
+    // contiguous runs of roughly equal bytes, at most UNITS_PER_WORKER of them
+    private static List<List<String>> splitIntoUnits(List<String> documents){
+        long[] cumulativeSizes=new long[documents.size()+1];
+        for(int i=0;i<documents.size();i++){
+            cumulativeSizes[i+1]=cumulativeSizes[i]+new File(documents.get(i)).length();
+        }
+        int numberOfUnits=Math.min(UNITS_PER_WORKER, documents.size());
+        List<List<String>> units=new ArrayList<>(numberOfUnits);
+        int firstDocumentIndex=0;
+        for(int unit=1;unit<=numberOfUnits && firstDocumentIndex<documents.size();unit++){
+            long unitEnd=cumulativeSizes[documents.size()]*unit/numberOfUnits;
+            int lastDocumentIndexExclusive=firstDocumentIndex+1;
+            while(lastDocumentIndexExclusive<documents.size() && cumulativeSizes[lastDocumentIndexExclusive]<unitEnd){
+                lastDocumentIndexExclusive++;
+            }
+            if(unit==numberOfUnits){
+                lastDocumentIndexExclusive=documents.size();
+            }
+            units.add(new ArrayList<>(documents.subList(firstDocumentIndex, lastDocumentIndexExclusive)));
+            firstDocumentIndex=lastDocumentIndexExclusive;
         }
-        return tasks;
+        return units;
     }
-    private static List<List<String>> splitDocumentList(int numberOfWorkers, List<String> documents){
-        int numberOfDocumentsPerWorker=(documents.size()+numberOfWorkers-1)/numberOfWorkers;
-        List<List<String>> workerDocuments= new ArrayList<>();
 
-        for(int i=0;i<numberOfWorkers;i++){
-            int firstDocumentIndex = i*numberOfDocumentsPerWorker;
-            int lastDocumentIndexExclusive=Math.min(firstDocumentIndex+numberOfDocumentsPerWorker,documents.size());
+    // Consistent hashing with bounded loads. Every document belongs to the first worker clockwise from
+    // it on the ring that still has room, where room is LOAD_BOUND above the average number of bytes
+    // per worker. Documents are placed largest first so the small ones fill the gaps. A change of
+    // workers only moves the documents of the workers that came or went, plus the few that overflow.
+    static Map<String, List<String>> splitDocumentList(List<String> workers, List<String> documents){
+        ConsistentHashRing ring=new ConsistentHashRing(workers, VIRTUAL_NODES_PER_WORKER);
+        long[] documentSizes=new long[documents.size()];
+        Integer[] documentIndexesBySize=new Integer[documents.size()];
+        long totalSize=0;
+        for(int i=0;i<documents.size();i++){
+            documentSizes[i]=new File(documents.get(i)).length();
+            documentIndexesBySize[i]=i;
+            totalSize+=documentSizes[i];
+        }
+        Arrays.sort(documentIndexesBySize, (first, second) -> documentSizes[first]!=documentSizes[second]
+                ?Long.compare(documentSizes[second], documentSizes[first])
+                :documents.get(first).compareTo(documents.get(second)));
+
+        int numberOfWorkers=new HashSet<>(workers).size();
+        double capacity=(1+LOAD_BOUND)*totalSize/Math.max(numberOfWorkers, 1);
+        Map<String, Long> workerSizes=new HashMap<>();
+        Map<String, String> documentOwners=new HashMap<>();
+        for(int documentIndex: documentIndexesBySize){
+            String document=documents.get(documentIndex);
+            long documentSize=documentSizes[documentIndex];
+            String owner=null;
+            String leastLoadedWorker=null;
+            for(String worker: ring.getOwners(document)){
+                long workerSize=workerSizes.getOrDefault(worker, 0L);
+                if(workerSize+documentSize<=capacity){
+                    owner=worker;
+                    break;
+                }
+                if(leastLoadedWorker==null || workerSize<workerSizes.getOrDefault(leastLoadedWorker, 0L)){
+                    leastLoadedWorker=worker;
+                }
+            }
+            // a document larger than any worker's room left goes to the least loaded one
+            owner=owner!=null?owner:leastLoadedWorker;
+            documentOwners.put(document, owner);
+            workerSizes.merge(owner, documentSize, Long::sum);
+        }
 
-            if(firstDocumentIndex>=lastDocumentIndexExclusive){
-                break;
+        Map<String, List<String>> workerDocuments=new LinkedHashMap<>();
+        for(String worker: workers){
+            if(workerSizes.containsKey(worker)){
+                workerDocuments.putIfAbsent(worker, new ArrayList<>());
             }
-            List<String> currentWorkerDocuments = new ArrayList<>(documents.subList(firstDocumentIndex,lastDocumentIndexExclusive));
-            workerDocuments.add(currentWorkerDocuments);
+        }
+        for(String document: documents){
+            workerDocuments.get(documentOwners.get(document)).add(document);
+        }
+        if(!workerDocuments.isEmpty()){
+            long largestSize=workerSizes.values().stream().mapToLong(Long::longValue).max().getAsLong();
+            System.out.println(String.format("Assigned %d documents to %d workers, the largest share is %.1f%% above average",
+                    documents.size(), workerDocuments.size(), totalSize>0?100.0*largestSize*numberOfWorkers/totalSize-100:0));
         }
         return workerDocuments;
     }
 
     private static List<String> readDocumentList(){
         File documentsDirectory=new File(BOOKS_DIRECTORY);
-        return Arrays.asList(documentsDirectory.list())
+        String[] documentNames=documentsDirectory.list();
+        if(documentNames==null){
+            System.out.println("No documents found in "+BOOKS_DIRECTORY);
+            return new ArrayList<>();
+        }
+        return Arrays.asList(documentNames)
                 .stream()
                 .map(documentName->BOOKS_DIRECTORY+"/"+documentName)
                 .collect(Collectors.toList());
     }
 
+    private static class InFlightQuery {
+        private final long deadlineNanos;
+        private final CompletableFuture<SearchModel.Response> response=new CompletableFuture<>();
+
+        InFlightQuery(long deadlineNanos){
+            this.deadlineNanos=deadlineNanos;
+        }
+    }
+
 }
@@ -1,55 +1,304 @@
 package search;
 
-import model.DocumentData;
 import model.Result;
+import model.ResultWriter;
 import model.SerializationUtils;
 import model.Task;
-import networking.OnRequestCallback;
+import networking.OnStreamingRequestCallback;
 
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 
-public class SearchWorker implements OnRequestCallback {
+public class SearchWorker implements OnStreamingRequestCallback {
     private static final String ENDPOINT="/task";
+    // below this many documents per chunk splitting costs more than it saves
+    private static final int MIN_DOCUMENTS_PER_CHUNK=8;
+    // bounds how many documents' term frequencies are held in memory per chunk
+    private static final int MAX_DOCUMENTS_PER_CHUNK=256;
+    private static final long NO_DEADLINE=Long.MAX_VALUE;
+    // bounds the term counts a worker without an index keeps of the documents it has scanned
+    private static final long TERM_CACHE_MAX_BYTES=Long.getLong("searchWorker.termCacheMaxBytes", 64*1024*1024);
+    // kept well below vm.max_map_count, which also has to cover the mappings of the JVM itself
+    private static final int MAX_MAPPED_DOCUMENTS=Integer.getInteger("searchWorker.maxMappedDocuments", 16384);
+    // threads of the pool that tokenizes and scores documents
+    private static final int PARALLELISM=Integer.getInteger("searchWorker.parallelism", Runtime.getRuntime().availableProcessors());
+    // the most chunks one query runs at a time, below PARALLELISM so that concurrent queries share the pool
+    private static final int MAX_PARALLELISM_PER_QUERY=Integer.getInteger("searchWorker.maxParallelismPerQuery", Math.max(PARALLELISM/2, 1));
+    private final InvertedIndex index;
+    private final MappedDocuments mappedDocuments=new MappedDocuments(MAX_MAPPED_DOCUMENTS);
+    private final TermCountCache termCountCache=new TermCountCache(TERM_CACHE_MAX_BYTES);
+    private final ForkJoinPool computePool;
+    private final int maxParallelismPerQuery;
 
+    public SearchWorker(){
+        this(false);
+    }
+
+    // documents are processed on a pool of their own, so they neither compete with nor wait behind other
+    // users of the common pool
+    public SearchWorker(boolean indexDocuments){
+        this(indexDocuments, createComputePool(PARALLELISM), MAX_PARALLELISM_PER_QUERY);
+    }
+
+    // with indexDocuments every document is indexed the first time a task names it, so a worker only
+    // indexes the shard the coordinator assigns to it. Otherwise the documents of every task are scanned
+    public SearchWorker(boolean indexDocuments, ForkJoinPool computePool, int maxParallelismPerQuery){
+        this.computePool=computePool;
+        this.maxParallelismPerQuery=Math.max(maxParallelismPerQuery, 1);
+        this.index=indexDocuments?new InvertedIndex():null;
+    }
+
+    private static ForkJoinPool createComputePool(int parallelism){
+        AtomicInteger threadNumber=new AtomicInteger();
+        return new ForkJoinPool(Math.max(parallelism, 1), pool->{
+            ForkJoinWorkerThread thread=ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("search-worker-"+threadNumber.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
+    // a failure is thrown rather than answered with what was written so far, which would parse as a
+    // complete result without the remaining documents
     @Override
     public byte[] handleRequest(byte[] requestPayload) {
-        Task task = (Task) SerializationUtils.deserialize(requestPayload);
-        Result result=createResult(task);
-        return SerializationUtils.serialize(result);
+        ByteArrayOutputStream responseBody=new ByteArrayOutputStream();
+        try{
+            handleRequest(new ByteArrayInputStream(requestPayload), responseBody);
+        }catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        return responseBody.toByteArray();
     }
 
-    private Result createResult(Task task){
-        List<String> documents=task.getDocuments();
-        System.out.println(String.format("Received %d documents to process", documents.size()));
-        Result result=new Result();
-        for(String document: documents){
-            List<String> words=parseWordsFromDocument(document);
-            DocumentData documentData=TFIDF.createDocumentData(words, task.getSearchTerms());
-            result.addDocumentData(document, documentData);
+    @Override
+    public void handleRequest(InputStream requestBody, OutputStream responseBody) throws IOException {
+        Task task = SerializationUtils.deserializeTask(requestBody);
+        long deadlineNanos=task.getDeadlineMillis()>0?System.nanoTime()+task.getDeadlineMillis()*1000000:NO_DEADLINE;
+        System.out.println(String.format("Received %d documents to process", task.getDocuments().size()));
+        ResultWriter resultWriter=new ResultWriter(responseBody, task.getSearchTerms());
+        boolean complete;
+        switch (task.getType()){
+            case DOCUMENT_FREQUENCIES:
+                complete=writeDocumentFrequencies(task, deadlineNanos, resultWriter);
+                break;
+            case TOP_DOCUMENTS:
+                complete=writeTopDocuments(task, deadlineNanos, resultWriter);
+                break;
+            default:
+                complete=processInParallel(task, deadlineNanos, chunk->{
+                    resultWriter.writeDocuments(chunk);
+                    resultWriter.flush();
+                });
+        }
+        if(!complete){
+            System.out.println("Deadline passed or documents could not be read, returning a partial result");
+            resultWriter.writePartial();
+        }
+        resultWriter.flush();
+    }
+
+    private boolean writeDocumentFrequencies(Task task, long deadlineNanos, ResultWriter resultWriter) throws IOException {
+        int[] documentFrequencies=new int[task.getSearchTerms().size()];
+        // only the documents that were actually looked at count towards the shard size
+        int[] shardSize=new int[1];
+        boolean complete=processInParallel(task, deadlineNanos, chunk->{
+            int[] chunkDocumentFrequencies=TFIDF.getDocumentFrequencies(chunk);
+            for(int termId=0;termId<documentFrequencies.length;termId++){
+                documentFrequencies[termId]+=chunkDocumentFrequencies[termId];
+            }
+            shardSize[0]+=chunk.getNumberOfDocuments();
+        });
+        resultWriter.writeDocumentFrequencies(shardSize[0], documentFrequencies);
+        return complete;
+    }
+
+    private boolean writeTopDocuments(Task task, long deadlineNanos, ResultWriter resultWriter) throws IOException {
+        double[] inverseDocumentFrequencies=new double[task.getSearchTerms().size()];
+        for(int termId=0;termId<inverseDocumentFrequencies.length;termId++){
+            inverseDocumentFrequencies[termId]=task.getInverseDocumentFrequency(termId);
+        }
+        TopDocuments topDocuments=new TopDocuments(task.getMaxResults());
+        // chunks leave out documents that could not be read, so offered indexes refer to this list of the
+        // documents actually scored rather than to the task's documents
+        List<String> scoredDocuments=new ArrayList<>(task.getDocuments().size());
+        boolean complete=processInParallel(task, deadlineNanos, chunk->{
+            TFIDF.offerDocumentsByScore(topDocuments, chunk, inverseDocumentFrequencies, scoredDocuments.size());
+            for(int documentIndex=0;documentIndex<chunk.getNumberOfDocuments();documentIndex++){
+                scoredDocuments.add(chunk.getDocument(documentIndex));
+            }
+        });
+        topDocuments.sortDescending();
+
+        Result result=new Result(task.getSearchTerms());
+        for(int rank=0;rank<topDocuments.size();rank++){
+            result.addScoredDocument(scoredDocuments.get(topDocuments.getDocumentIndex(rank)), topDocuments.getScore(rank));
+        }
+        resultWriter.writeDocuments(result);
+        return complete;
+    }
+
+    // chunks are computed on computePool, even a single one, and handed to the consumer in document order
+    // on the calling thread, with at most maxParallelismPerQuery of them being computed at a time. Once the deadline has passed no further
+    // chunks are started, so the consumer sees a prefix of the documents and false is returned. False
+    // is also returned when documents that could not be read were left out of a chunk
+    private boolean processInParallel(Task task, long deadlineNanos, ChunkConsumer resultConsumer) throws IOException {
+        boolean[] unreadDocuments=new boolean[1];
+        ChunkConsumer chunkConsumer=chunk->{
+            unreadDocuments[0]|=chunk.isPartial();
+            resultConsumer.accept(chunk);
+        };
+        List<String> terms=task.getSearchTerms();
+        BiFunction<List<String>, List<String>, Result> createResult=index==null?this::createResult:this::createResultFromIndex;
+        List<List<String>> documentChunks=splitIntoChunks(task.getDocuments());
+        Deque<ForkJoinTask<Result>> runningChunks=new ArrayDeque<>();
+        boolean complete=true;
+        for(List<String> chunkDocuments: documentChunks){
+            if(runningChunks.size()==maxParallelismPerQuery){
+                chunkConsumer.accept(runningChunks.poll().join());
+            }
+            if(deadlineNanos!=NO_DEADLINE && System.nanoTime()-deadlineNanos>=0){
+                complete=false;
+                break;
+            }
+            runningChunks.add(computePool.submit(()->createResult.apply(terms, chunkDocuments)));
+        }
+        while(!runningChunks.isEmpty()){
+            chunkConsumer.accept(runningChunks.poll().join());
+        }
+        return complete && !unreadDocuments[0];
+    }
+
+    private List<List<String>> splitIntoChunks(List<String> documents){
+        int numberOfChunks=Math.max((documents.size()+MAX_DOCUMENTS_PER_CHUNK-1)/MAX_DOCUMENTS_PER_CHUNK,
+                Math.min(maxParallelismPerQuery, (documents.size()+MIN_DOCUMENTS_PER_CHUNK-1)/MIN_DOCUMENTS_PER_CHUNK));
+        if(numberOfChunks<=1){
+            return Collections.singletonList(documents);
+        }
+        int documentsPerChunk=(documents.size()+numberOfChunks-1)/numberOfChunks;
+        List<List<String>> chunks=new ArrayList<>(numberOfChunks);
+        for(int firstDocumentIndex=0;firstDocumentIndex<documents.size();firstDocumentIndex+=documentsPerChunk){
+            chunks.add(documents.subList(firstDocumentIndex, Math.min(firstDocumentIndex+documentsPerChunk, documents.size())));
+        }
+        return chunks;
+    }
+
+    // only documents missing some of the terms from the term count cache are scanned. A document that
+    // cannot be read is left out and the result marked partial rather than scored as if it had no terms
+    private Result createResult(List<String> terms, List<String> documents){
+        int[] documentIds=termCountCache.getDocumentIds(documents);
+        int[][] termCounts=new int[terms.size()][documents.size()];
+        int[] documentLengths=new int[documents.size()];
+        termCountCache.get(terms, documentIds, termCounts, documentLengths);
+
+        Result result=new Result(terms);
+        QueryTermCounter queryTermCounter=new QueryTermCounter(terms);
+        Tokenizer tokenizer=new Tokenizer();
+        for(int i=0;i<documents.size();i++){
+            if(documentLengths[i]!=TermCountCache.NOT_COUNTED){
+                int documentIndex=result.addDocument(documents.get(i));
+                for(int termId=0;termId<terms.size();termId++){
+                    double termFrequency=documentLengths[i]>0?(double)termCounts[termId][i]/documentLengths[i]:0;
+                    result.putTermFrequency(documentIndex, termId, termFrequency);
+                }
+                continue;
+            }
+            queryTermCounter.reset();
+            try{
+                tokenizer.tokenize(mappedDocuments.get(documents.get(i)), queryTermCounter);
+            }catch (IOException e){
+                e.printStackTrace();
+                result.setPartial(true);
+                continue;
+            }
+            termCountCache.put(terms, documentIds[i], queryTermCounter);
+            int documentIndex=result.addDocument(documents.get(i));
+            for(int termId=0;termId<queryTermCounter.getNumberOfTerms();termId++){
+                result.putTermFrequency(documentIndex, termId, queryTermCounter.getTermFrequency(termId));
+            }
+        }
+        return result;
+    }
+
+    private Result createResultFromIndex(List<String> terms, List<String> documents){
+        indexMissingDocuments(documents);
+
+        int[] documentIds=index.getDocumentIds(documents);
+        int[][] termCounts=new int[terms.size()][];
+        for(int i=0;i<terms.size();i++){
+            termCounts[i]=index.getTermCounts(terms.get(i), documentIds);
+        }
+
+        Result result=new Result(terms);
+        for(int i=0;i<documents.size();i++){
+            // documents that could not be read are not in the index
+            if(documentIds[i]<0){
+                result.setPartial(true);
+                continue;
+            }
+            int documentLength=index.getDocumentLength(documentIds[i]);
+            int documentIndex=result.addDocument(documents.get(i));
+            for(int termId=0;termId<terms.size();termId++){
+                double termFrequency=documentLength>0?(double)termCounts[termId][i]/documentLength:0;
+                result.putTermFrequency(documentIndex, termId, termFrequency);
+            }
         }
         return result;
     }
 
-    private List<String> parseWordsFromDocument(String document){
+    private void indexMissingDocuments(List<String> documents){
+        for(String document: documents){
+            if(!index.containsDocument(document)){
+                TermCounts termCounts=countTermsInDocument(document);
+                if(termCounts!=null){
+                    index.addDocument(document, termCounts);
+                }
+            }
+        }
+    }
+
+    // returns null when the document cannot be read, so it is tried again by the next query for it
+    private TermCounts countTermsInDocument(String document){
+        TermCounts termCounts=new TermCounts();
         try{
-            FileReader fileReader=new FileReader(document);
-            BufferedReader bufferedReader=new BufferedReader(fileReader);
-            List<String> lines=bufferedReader.lines().collect(Collectors.toList());
-            List<String> words=TFIDF.getWordsFromLines(lines);
-            return words;
-        }catch (FileNotFoundException e){
+            new Tokenizer().tokenize(MappedDocuments.map(document), termCounts);
+        }catch (IOException e){
             e.printStackTrace();
-            return new ArrayList<String>();
+            return null;
         }
+        return termCounts;
     }
 
     @Override
     public String getEndpoint() {
         return ENDPOINT;
     }
+
+    @Override
+    public Map<String, String> getStatus() {
+        if(index!=null){
+            return Collections.singletonMap("Indexed-Documents", String.valueOf(index.getNumberOfDocuments()));
+        }
+        Map<String, String> status=termCountCache.getMetrics();
+        status.put("Mapped-Documents", String.valueOf(mappedDocuments.size()));
+        return status;
+    }
+
+    private interface ChunkConsumer {
+        void accept(Result chunk) throws IOException;
+    }
 }
@@ -1,69 +1,100 @@
 package search;
 
-import model.DocumentData;
+import model.Result;
 
 import javax.print.DocFlavor;
 import javax.swing.text.Document;
 import java.util.*;
 
 public class TFIDF {
-    public static double calculateTermFrequency(List<String> words, String term){
-        long count=0;
-        for(String word: words){
-            if(term.equalsIgnoreCase(word)){
-                count++;
-            }
-        }
-        return (double)count/ words.size();
+    public static double getInverseDocumentFrequency(int termId, Result documentResults){
+        return calculateInverseDocumentFrequency(getDocumentFrequency(termId, documentResults), documentResults.getNumberOfDocuments());
     }
-    public static DocumentData createDocumentData(List<String> words, List<String> terms){
-        DocumentData documentData=new DocumentData();
 
-        for(String term: terms){
-            double termFreq=calculateTermFrequency(words, term);
-            documentData.putTermFrequency(term, termFreq);
-        }
-        return documentData;
+    public static double calculateInverseDocumentFrequency(double documentFrequency, double numberOfDocuments){
+        return documentFrequency>0?Math.log10(numberOfDocuments/ documentFrequency):0;
     }
-    public static double getInverseDocumentFrequency(String term, Map<String, DocumentData> documentResults){
-        double nt=0;
-        for(String document: documentResults.keySet()){
-            DocumentData documentData=documentResults.get(document);
-            double termFrequency=documentData.getFrequency(term);
+
+    private static int getDocumentFrequency(int termId, Result documentResults){
+        int nt=0;
+        for(int documentIndex=0;documentIndex<documentResults.getNumberOfDocuments();documentIndex++){
+            double termFrequency=documentResults.getFrequency(documentIndex, termId);
             if(termFrequency>0.0){
                 nt++;
             }
         }
-        return nt>0?Math.log10(documentResults.size()/ nt):0;
+        return nt;
+    }
+
+    public static int[] getDocumentFrequencies(Result documentResults){
+        int[] documentFrequencies = new int[documentResults.getTerms().size()];
+        for(int termId=0;termId<documentFrequencies.length;termId++){
+            documentFrequencies[termId] = getDocumentFrequency(termId, documentResults);
+        }
+        return documentFrequencies;
     }
 
-    private static Map<String, Double> getTermToInverseDocumentFrequencyMap(List<String> terms, Map<String, DocumentData> documentResults){
-        Map<String, Double> termToIDF = new HashMap<>();
-        for(String term: terms){
-            double idf = getInverseDocumentFrequency(term, documentResults);
-            termToIDF.put(term, idf);
+    private static double[] getInverseDocumentFrequencies(Result documentResults){
+        double[] inverseDocumentFrequencies = new double[documentResults.getTerms().size()];
+        for(int termId=0;termId<inverseDocumentFrequencies.length;termId++){
+            inverseDocumentFrequencies[termId] = getInverseDocumentFrequency(termId, documentResults);
         }
-        return termToIDF;
+        return inverseDocumentFrequencies;
     }
-    private static double calculateDocumentScore(List<String> terms, DocumentData documentData, Map<String, Double> termToInverseDocumentFrequency){
+    private static double calculateDocumentScore(Result documentResults, int documentIndex, double[] inverseDocumentFrequencies){
         double score = 0;
-        for(String term: terms){
-            double termFrequency = documentData.getFrequency(term);
-            double inverseTermFrequency = termToInverseDocumentFrequency.get(term);
-            score+=termFrequency*inverseTermFrequency;
+        for(int termId=0;termId<inverseDocumentFrequencies.length;termId++){
+            double termFrequency = documentResults.getFrequency(documentIndex, termId);
+            score+=termFrequency*inverseDocumentFrequencies[termId];
         }
         return score;
     }
-    public static Map<Double, List<String>> getDocumentsSortedByScore(List<String> terms, Map<String, DocumentData> documentResults){
+    public static Map<Double, List<String>> getDocumentsSortedByScore(Result documentResults){
         TreeMap<Double, List<String>> scoreToDocuments = new TreeMap<>();
-        Map<String, Double> termToInverseDocumentFrequency = getTermToInverseDocumentFrequencyMap(terms, documentResults);
-        for(String document: documentResults.keySet()){
-            double score=calculateDocumentScore(terms,documentResults.get(document), termToInverseDocumentFrequency);
-            addDocumentScoreToTreeMap(scoreToDocuments,score, document);
+        double[] inverseDocumentFrequencies = getInverseDocumentFrequencies(documentResults);
+        for(int documentIndex=0;documentIndex<documentResults.getNumberOfDocuments();documentIndex++){
+            double score=calculateDocumentScore(documentResults, documentIndex, inverseDocumentFrequencies);
+            addDocumentScoreToTreeMap(scoreToDocuments,score, documentResults.getDocument(documentIndex));
         }
         return scoreToDocuments.descendingMap();
     }
 
+    // documents are offered with their index shifted by firstDocumentIndex, so that results covering
+    // consecutive slices of a document list can feed the same TopDocuments
+    public static void offerDocumentsByScore(TopDocuments topDocuments, Result documentResults, double[] inverseDocumentFrequencies, int firstDocumentIndex){
+        for(int documentIndex=0;documentIndex<documentResults.getNumberOfDocuments();documentIndex++){
+            double score=calculateDocumentScore(documentResults, documentIndex, inverseDocumentFrequencies);
+            if(score>0){
+                topDocuments.offer(firstDocumentIndex+documentIndex, score);
+            }
+        }
+    }
+
+    // k-way merge of results whose scored documents are already sorted best first
+    public static Result mergeTopDocuments(List<Result> scoredResults, List<String> terms, int maxResults){
+        Result mergedResult = new Result(terms);
+        int[] positions = new int[scoredResults.size()];
+        PriorityQueue<Integer> resultsByNextScore = new PriorityQueue<>(Math.max(scoredResults.size(), 1),
+                (first, second) -> Double.compare(
+                        scoredResults.get(second).getScore(positions[second]),
+                        scoredResults.get(first).getScore(positions[first])));
+        for(int resultIndex=0;resultIndex<scoredResults.size();resultIndex++){
+            if(scoredResults.get(resultIndex).getNumberOfDocuments()>0){
+                resultsByNextScore.add(resultIndex);
+            }
+        }
+        while(!resultsByNextScore.isEmpty() && mergedResult.getNumberOfDocuments()<maxResults){
+            int resultIndex = resultsByNextScore.poll();
+            Result result = scoredResults.get(resultIndex);
+            mergedResult.addScoredDocument(result.getDocument(positions[resultIndex]), result.getScore(positions[resultIndex]));
+            positions[resultIndex]++;
+            if(positions[resultIndex]<result.getNumberOfDocuments()){
+                resultsByNextScore.add(resultIndex);
+            }
+        }
+        return mergedResult;
+    }
+
     public static void addDocumentScoreToTreeMap(TreeMap<Double, List<String>> scoreToDoc, double score, String document){
         List<String> documentsWithScore=scoreToDoc.get(score);
         if(documentsWithScore==null){
@@ -74,14 +105,8 @@ public class TFIDF {
     }
 
      public static List<String> getWordsFromLine(String line){
-        return Arrays.asList(line.split("(\\.)+|(,)+|( )+|(-)+|(\\?)+|(!)+|(;)+|(:)+|(/n)+|(/d)+"));
-     }
-
-     public static List<String> getWordsFromLines(List<String> lines){
         List<String> words=new ArrayList<>();
-        for(String line:lines){
-            words.addAll(getWordsFromLine(line));
-        }
+        new Tokenizer().tokenize(line, (buffer, length)->words.add(new String(buffer, 0, length)));
         return words;
      }
 }
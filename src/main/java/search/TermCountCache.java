@@ -0,0 +1,114 @@
+package search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Remembers how often query terms occur in the documents a worker without an index has scanned, so
+// popular terms are answered from memory instead of tokenizing the documents again. The counts of a
+// term are kept in an array indexed by document id. Once the arrays take more than maxBytes the least
+// recently used terms are evicted. Documents are assumed not to change, as in MappedDocuments.
+public class TermCountCache {
+    public static final int NOT_COUNTED=-1;
+    // rough size of the map entry and array header around the counts of each term
+    private static final int TERM_OVERHEAD_BYTES=96;
+
+    private final long maxBytes;
+    private final Map<String, Integer> documentIds=new HashMap<>();
+    private int[] documentLengths=new int[0];
+    private final LinkedHashMap<String, int[]> termCounts=new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TermCountCache(long maxBytes){
+        this.maxBytes=maxBytes;
+    }
+
+    public synchronized int[] getDocumentIds(List<String> documents){
+        int[] ids=new int[documents.size()];
+        for(int i=0;i<documents.size();i++){
+            Integer documentId=documentIds.get(documents.get(i));
+            if(documentId==null){
+                documentId=documentIds.size();
+                documentIds.put(documents.get(i), documentId);
+            }
+            ids[i]=documentId;
+        }
+        if(documentIds.size()>documentLengths.length){
+            documentLengths=grow(documentLengths, documentIds.size());
+        }
+        return ids;
+    }
+
+    // Fills in the counts of every term and the length of every document that are all cached. The
+    // length of a document that has to be scanned again is set to NOT_COUNTED
+    public synchronized void get(List<String> terms, int[] documentIds, int[][] counts, int[] lengths){
+        int[][] cachedCounts=new int[terms.size()][];
+        for(int termId=0;termId<terms.size();termId++){
+            cachedCounts[termId]=termCounts.get(terms.get(termId).toLowerCase(Locale.ROOT));
+        }
+        for(int i=0;i<documentIds.length;i++){
+            int documentId=documentIds[i];
+            lengths[i]=documentLengths[documentId];
+            for(int termId=0;termId<terms.size() && lengths[i]!=NOT_COUNTED;termId++){
+                int[] countsOfTerm=cachedCounts[termId];
+                if(countsOfTerm==null || documentId>=countsOfTerm.length || countsOfTerm[documentId]==NOT_COUNTED){
+                    lengths[i]=NOT_COUNTED;
+                }else{
+                    counts[termId][i]=countsOfTerm[documentId];
+                }
+            }
+            if(lengths[i]==NOT_COUNTED){
+                misses++;
+            }else{
+                hits++;
+            }
+        }
+    }
+
+    public synchronized void put(List<String> terms, int documentId, QueryTermCounter queryTermCounter){
+        if(maxBytes<=0){
+            return;
+        }
+        documentLengths[documentId]=queryTermCounter.getNumberOfTokens();
+        for(int termId=0;termId<terms.size();termId++){
+            String term=terms.get(termId).toLowerCase(Locale.ROOT);
+            int[] counts=termCounts.get(term);
+            if(counts==null || documentId>=counts.length){
+                int[] grownCounts=grow(counts!=null?counts:new int[0], documentLengths.length);
+                bytes+=4L*grownCounts.length+(counts!=null?-4L*counts.length:TERM_OVERHEAD_BYTES);
+                termCounts.put(term, grownCounts);
+                counts=grownCounts;
+            }
+            counts[documentId]=queryTermCounter.getCount(termId);
+        }
+        Iterator<int[]> leastRecentlyUsed=termCounts.values().iterator();
+        while(bytes>maxBytes && leastRecentlyUsed.hasNext()){
+            bytes-=TERM_OVERHEAD_BYTES+4L*leastRecentlyUsed.next().length;
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized Map<String, String> getMetrics(){
+        Map<String, String> metrics=new LinkedHashMap<>();
+        metrics.put("Term-Cache-Hits", String.valueOf(hits));
+        metrics.put("Term-Cache-Misses", String.valueOf(misses));
+        metrics.put("Term-Cache-Terms", String.valueOf(termCounts.size()));
+        metrics.put("Term-Cache-Bytes", String.valueOf(bytes));
+        metrics.put("Term-Cache-Evictions", String.valueOf(evictions));
+        return metrics;
+    }
+
+    private static int[] grow(int[] counts, int minimumLength){
+        int[] grownCounts=Arrays.copyOf(counts, Math.max(minimumLength, counts.length+(counts.length>>1)));
+        Arrays.fill(grownCounts, counts.length, grownCounts.length, NOT_COUNTED);
+        return grownCounts;
+    }
+}
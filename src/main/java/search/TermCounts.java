@@ -0,0 +1,93 @@
+package search;
+
+import java.util.function.ObjIntConsumer;
+
+// Counts tokens straight from the tokenizer buffer with an open addressing table keyed on the buffer
+// contents, so a String is only allocated the first time a term is seen.
+public class TermCounts implements Tokenizer.TokenConsumer {
+    private String[] terms=new String[64];
+    private int[] hashes=new int[64];
+    private int[] counts=new int[64];
+    private int numberOfTerms;
+    private int numberOfTokens;
+
+    @Override
+    public void accept(char[] buffer, int length){
+        numberOfTokens++;
+        int hash=hash(buffer, length);
+        int mask=terms.length-1;
+        int slot=hash&mask;
+        while(terms[slot]!=null){
+            if(hashes[slot]==hash && matches(terms[slot], buffer, length)){
+                counts[slot]++;
+                return;
+            }
+            slot=(slot+1)&mask;
+        }
+        terms[slot]=new String(buffer, 0, length);
+        hashes[slot]=hash;
+        counts[slot]=1;
+        if(++numberOfTerms*2>terms.length){
+            resize();
+        }
+    }
+
+    public int getNumberOfTerms(){
+        return numberOfTerms;
+    }
+
+    public int getNumberOfTokens(){
+        return numberOfTokens;
+    }
+
+    public void forEach(ObjIntConsumer<String> termCountConsumer){
+        for(int slot=0;slot<terms.length;slot++){
+            if(terms[slot]!=null){
+                termCountConsumer.accept(terms[slot], counts[slot]);
+            }
+        }
+    }
+
+    private void resize(){
+        String[] oldTerms=terms;
+        int[] oldHashes=hashes;
+        int[] oldCounts=counts;
+        terms=new String[oldTerms.length*2];
+        hashes=new int[oldTerms.length*2];
+        counts=new int[oldTerms.length*2];
+        int mask=terms.length-1;
+        for(int oldSlot=0;oldSlot<oldTerms.length;oldSlot++){
+            if(oldTerms[oldSlot]==null){
+                continue;
+            }
+            int slot=oldHashes[oldSlot]&mask;
+            while(terms[slot]!=null){
+                slot=(slot+1)&mask;
+            }
+            terms[slot]=oldTerms[oldSlot];
+            hashes[slot]=oldHashes[oldSlot];
+            counts[slot]=oldCounts[oldSlot];
+        }
+    }
+
+    static int hash(char[] buffer, int length){
+        int hash=0;
+        for(int i=0;i<length;i++){
+            hash=31*hash+buffer[i];
+        }
+        // spread the low bits since slots are picked with a mask
+        return hash^(hash>>>16);
+    }
+
+    static boolean matches(String term, char[] buffer, int length){
+        if(term.length()!=length){
+            return false;
+        }
+        for(int i=0;i<length;i++){
+            if(term.charAt(i)!=buffer[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+}
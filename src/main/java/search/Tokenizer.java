@@ -0,0 +1,105 @@
+package search;
+
+import java.nio.ByteBuffer;
+
+// Splits text into lower case words without allocating a String per word. Words are handed to the
+// consumer in a buffer that is reused for the next word, so consumers copy what they need to keep.
+// Instances are not thread safe.
+public class Tokenizer {
+    private static final String DELIMITERS=".,-?!;:";
+    private static final char REPLACEMENT_CHARACTER='\uFFFD';
+    private static final boolean[] ASCII_DELIMITERS=new boolean[128];
+
+    static {
+        for(char delimiter: DELIMITERS.toCharArray()){
+            ASCII_DELIMITERS[delimiter]=true;
+        }
+        for(char c=0;c<ASCII_DELIMITERS.length;c++){
+            if(Character.isWhitespace(c)){
+                ASCII_DELIMITERS[c]=true;
+            }
+        }
+    }
+
+    public interface TokenConsumer {
+        void accept(char[] buffer, int length);
+    }
+
+    private char[] buffer=new char[32];
+    private int length;
+
+    private static boolean isDelimiter(char c){
+        return c<ASCII_DELIMITERS.length?ASCII_DELIMITERS[c]:Character.isWhitespace(c);
+    }
+
+    public void tokenize(CharSequence text, TokenConsumer consumer){
+        for(int i=0;i<text.length();i++){
+            append(text.charAt(i), consumer);
+        }
+        flush(consumer);
+    }
+
+    // decodes UTF-8 between the buffer's position and limit without moving the position
+    public void tokenize(ByteBuffer utf8, TokenConsumer consumer){
+        int position=utf8.position();
+        int limit=utf8.limit();
+        while(position<limit){
+            byte firstByte=utf8.get(position++);
+            if(firstByte>=0){
+                append((char) firstByte, consumer);
+                continue;
+            }
+            int codePoint;
+            int continuationBytes;
+            if((firstByte&0xE0)==0xC0){
+                codePoint=firstByte&0x1F;
+                continuationBytes=1;
+            }else if((firstByte&0xF0)==0xE0){
+                codePoint=firstByte&0x0F;
+                continuationBytes=2;
+            }else if((firstByte&0xF8)==0xF0){
+                codePoint=firstByte&0x07;
+                continuationBytes=3;
+            }else{
+                append(REPLACEMENT_CHARACTER, consumer);
+                continue;
+            }
+            for(int i=0;i<continuationBytes && codePoint>=0;i++){
+                if(position==limit || (utf8.get(position)&0xC0)!=0x80){
+                    codePoint=-1;
+                }else{
+                    codePoint=(codePoint<<6)|(utf8.get(position++)&0x3F);
+                }
+            }
+            if(codePoint<0 || codePoint>Character.MAX_CODE_POINT){
+                append(REPLACEMENT_CHARACTER, consumer);
+            }else if(Character.isBmpCodePoint(codePoint)){
+                append((char) codePoint, consumer);
+            }else{
+                append(Character.highSurrogate(codePoint), consumer);
+                append(Character.lowSurrogate(codePoint), consumer);
+            }
+        }
+        flush(consumer);
+    }
+
+    private void append(char c, TokenConsumer consumer){
+        if(isDelimiter(c)){
+            flush(consumer);
+            return;
+        }
+        if(length==buffer.length){
+            char[] grownBuffer=new char[buffer.length*2];
+            System.arraycopy(buffer, 0, grownBuffer, 0, length);
+            buffer=grownBuffer;
+        }
+        buffer[length++]=Character.toLowerCase(c);
+    }
+
+    private void flush(TokenConsumer consumer){
+        if(length>0){
+            consumer.accept(buffer, length);
+            length=0;
+        }
+    }
+}
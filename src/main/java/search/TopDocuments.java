@@ -0,0 +1,96 @@
+package search;
+
+public class TopDocuments {
+    private final double[] scores;
+    private final int[] documentIndexes;
+    private int size;
+    private boolean sorted;
+
+    public TopDocuments(int maxResults){
+        scores=new double[maxResults];
+        documentIndexes=new int[maxResults];
+    }
+
+    public void offer(int documentIndex, double score){
+        if(sorted){
+            throw new IllegalStateException("Cannot offer documents after sorting");
+        }
+        if(size<scores.length){
+            scores[size]=score;
+            documentIndexes[size]=documentIndex;
+            siftUp(size++);
+        }else if(size>0 && isLower(scores[0], documentIndexes[0], score, documentIndex)){
+            scores[0]=score;
+            documentIndexes[0]=documentIndex;
+            siftDown(0, size);
+        }
+    }
+
+    public int size(){
+        return size;
+    }
+
+    // heap sorts in place, afterwards rank 0 is the best document
+    public TopDocuments sortDescending(){
+        if(!sorted){
+            for(int last=size-1;last>0;last--){
+                swap(0, last);
+                siftDown(0, last);
+            }
+            sorted=true;
+        }
+        return this;
+    }
+
+    public int getDocumentIndex(int rank){
+        return documentIndexes[rank];
+    }
+
+    public double getScore(int rank){
+        return scores[rank];
+    }
+
+    // ties go to the lower document index so that results are deterministic
+    private static boolean isLower(double score, int documentIndex, double otherScore, int otherDocumentIndex){
+        return score<otherScore || (score==otherScore && documentIndex>otherDocumentIndex);
+    }
+
+    private void siftUp(int position){
+        while(position>0){
+            int parent=(position-1)/2;
+            if(!isLower(scores[position], documentIndexes[position], scores[parent], documentIndexes[parent])){
+                return;
+            }
+            swap(position, parent);
+            position=parent;
+        }
+    }
+
+    private void siftDown(int position, int heapSize){
+        while(true){
+            int lowest=position;
+            int left=2*position+1;
+            int right=left+1;
+            if(left<heapSize && isLower(scores[left], documentIndexes[left], scores[lowest], documentIndexes[lowest])){
+                lowest=left;
+            }
+            if(right<heapSize && isLower(scores[right], documentIndexes[right], scores[lowest], documentIndexes[lowest])){
+                lowest=right;
+            }
+            if(lowest==position){
+                return;
+            }
+            swap(position, lowest);
+            position=lowest;
+        }
+    }
+
+    private void swap(int first, int second){
+        double score=scores[first];
+        scores[first]=scores[second];
+        scores[second]=score;
+        int documentIndex=documentIndexes[first];
+        documentIndexes[first]=documentIndexes[second];
+        documentIndexes[second]=documentIndex;
+    }
+}
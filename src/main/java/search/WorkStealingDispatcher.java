@@ -0,0 +1,374 @@
+package search;
+
+import model.Result;
+import model.Task;
+import networking.WebClient;
+import networking.WorkerBusyException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+// Hands out the work units of one query to workers as they free up. Every worker starts on the units
+// of the documents it owns and keeps at most MAX_UNITS_IN_FLIGHT of them running. A worker that runs
+// out of its own units steals from the worker with the most expected work left, and once nothing is
+// left to steal it runs a backup copy of a unit that has been running longer than backupDelayNanos.
+// The first copy of a unit to finish wins. Units of a failed worker go to the others. A worker that
+// turns a unit away because it is busy keeps the unit, unless another worker steals it, and is left
+// alone for its average latency without counting as failed. A worker that finds nothing to do is
+// offered work again whenever a unit finishes or fails.
+public class WorkStealingDispatcher {
+    private static final int MAX_UNITS_IN_FLIGHT=2;
+    private static final long MIN_BUSY_BACKOFF_NANOS=TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final WebClient client;
+    private final WorkerLoadTracker workerLoadTracker;
+    private final LatencyTracker latencyTracker;
+    private final long backupDelayNanos;
+    private final long deadlineNanos;
+    private final double workerDeadlineShare;
+
+    private final Map<String, Deque<WorkUnit>> pendingUnits=new LinkedHashMap<>();
+    private final List<WorkUnit> runningUnits=new ArrayList<>();
+    private final Map<String, Integer> unitsInFlight=new HashMap<>();
+    private final Set<String> failedWorkers=new HashSet<>();
+    private final Set<String> idleWorkers=new LinkedHashSet<>();
+    // until when each worker that turned a unit away is left alone
+    private final Map<String, Long> busyWorkers=new HashMap<>();
+    // when the timer that offers a worker work again fires
+    private final Map<String, Long> scheduledPulls=new HashMap<>();
+    private final Result[] results;
+    private final CompletableFuture<List<Result>> allResults=new CompletableFuture<>();
+    private int remainingUnits;
+    private int stolenUnits;
+    private int backupUnits;
+    private boolean partial;
+    private boolean finished;
+
+    // tasksByWorker holds the units each worker owns, backupDelayNanos is -1 to never run backups
+    public WorkStealingDispatcher(WebClient client, WorkerLoadTracker workerLoadTracker, LatencyTracker latencyTracker,
+                                  Map<String, List<Task>> tasksByWorker, long backupDelayNanos, long deadlineNanos, double workerDeadlineShare){
+        this.client=client;
+        this.workerLoadTracker=workerLoadTracker;
+        this.latencyTracker=latencyTracker;
+        this.backupDelayNanos=backupDelayNanos;
+        this.deadlineNanos=deadlineNanos;
+        this.workerDeadlineShare=workerDeadlineShare;
+        int unitIndex=0;
+        for(Map.Entry<String, List<Task>> workerTasks: tasksByWorker.entrySet()){
+            Deque<WorkUnit> units=new ArrayDeque<>();
+            for(Task task: workerTasks.getValue()){
+                units.add(new WorkUnit(unitIndex++, task));
+            }
+            pendingUnits.put(workerTasks.getKey(), units);
+            unitsInFlight.put(workerTasks.getKey(), 0);
+        }
+        this.results=new Result[unitIndex];
+        this.remainingUnits=unitIndex;
+    }
+
+    // completes with the results of the units that finished before the deadline
+    public CompletableFuture<List<Result>> dispatch(){
+        if(remainingUnits==0){
+            finish();
+            return allResults;
+        }
+        CompletableFuture.delayedExecutor(Math.max(deadlineNanos-System.nanoTime(), 0), TimeUnit.NANOSECONDS).execute(this::finish);
+        for(String worker: new ArrayList<>(pendingUnits.keySet())){
+            for(int i=0;i<MAX_UNITS_IN_FLIGHT;i++){
+                pull(worker);
+            }
+        }
+        return allResults;
+    }
+
+    // true when some units are missing from the results or were answered only partially
+    public synchronized boolean isPartial(){
+        return partial;
+    }
+
+    private void pull(String worker){
+        WorkUnit unit;
+        synchronized (this){
+            if(finished || failedWorkers.contains(worker) || unitsInFlight.get(worker)>=MAX_UNITS_IN_FLIGHT){
+                return;
+            }
+            Long busyUntilNanos=busyWorkers.get(worker);
+            if(busyUntilNanos!=null){
+                long backoffNanos=busyUntilNanos-System.nanoTime();
+                if(backoffNanos>0){
+                    pullLater(worker, backoffNanos);
+                    return;
+                }
+                busyWorkers.remove(worker);
+            }
+            unit=nextUnit(worker);
+            if(unit==null){
+                idleWorkers.add(worker);
+                return;
+            }
+            idleWorkers.remove(worker);
+            long startNanos=System.nanoTime();
+            if(unit.runningOn.isEmpty()){
+                unit.startNanos=startNanos;
+                runningUnits.add(unit);
+            }
+            unit.runningOn.put(worker, startNanos);
+            unitsInFlight.merge(worker, 1, Integer::sum);
+        }
+        send(worker, unit);
+    }
+
+    private void pullIdleWorkers(){
+        List<String> workers;
+        synchronized (this){
+            workers=new ArrayList<>(idleWorkers);
+        }
+        for(String worker: workers){
+            for(int i=0;i<MAX_UNITS_IN_FLIGHT;i++){
+                pull(worker);
+            }
+        }
+    }
+
+    // called holding the lock
+    private void pullLater(String worker, long delayNanos){
+        long pullNanos=System.nanoTime()+delayNanos;
+        Long scheduledNanos=scheduledPulls.get(worker);
+        if(scheduledNanos!=null && scheduledNanos-pullNanos<=0){
+            return;
+        }
+        scheduledPulls.put(worker, pullNanos);
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(()->{
+            synchronized (this){
+                scheduledPulls.remove(worker, pullNanos);
+            }
+            pull(worker);
+        });
+    }
+
+    // called holding the lock
+    private WorkUnit nextUnit(String worker){
+        WorkUnit unit=pendingUnits.get(worker).pollFirst();
+        if(unit!=null){
+            return unit;
+        }
+        long nanosUntilWorthStealing=getNanosUntilWorthStealing(worker);
+        if(nanosUntilWorthStealing>0){
+            pullLater(worker, nanosUntilWorthStealing);
+            return null;
+        }
+        Deque<WorkUnit> victimUnits=null;
+        double mostExpectedWork=-1;
+        for(Map.Entry<String, Deque<WorkUnit>> workerUnits: pendingUnits.entrySet()){
+            Deque<WorkUnit> units=workerUnits.getValue();
+            if(units.isEmpty()){
+                continue;
+            }
+            // an owner that has not answered yet is assumed to be as fast as the thief
+            double expectedWork=units.size()*Math.max(workerLoadTracker.getExpectedCost(workerUnits.getKey()), 1);
+            if(expectedWork>mostExpectedWork){
+                mostExpectedWork=expectedWork;
+                victimUnits=units;
+            }
+        }
+        if(victimUnits!=null){
+            stolenUnits++;
+            return victimUnits.pollLast();
+        }
+        return nextBackupUnit(worker);
+    }
+
+    // Returns 0 when the worker should steal. A slow worker leaves the units of others to a fast busy
+    // worker that would get through all of them sooner than the slow one gets through one. A worker is
+    // only known to be fast once it has answered, and counts as busy while one of its units is younger
+    // than its average latency, so a fast worker that stalls stops holding the slow ones back. Otherwise
+    // returns the time until the first of those busy workers stops being busy
+    // Called holding the lock
+    private long getNanosUntilWorthStealing(String worker){
+        long now=System.nanoTime();
+        double fastestAverageLatency=Double.MAX_VALUE;
+        long nanosUntilNotBusy=Long.MAX_VALUE;
+        int numberOfPendingUnits=0;
+        for(Map.Entry<String, Deque<WorkUnit>> workerUnits: pendingUnits.entrySet()){
+            String otherWorker=workerUnits.getKey();
+            numberOfPendingUnits+=workerUnits.getValue().size();
+            double otherAverageLatency=workerLoadTracker.getAverageLatencyNanos(otherWorker);
+            if(otherWorker.equals(worker) || failedWorkers.contains(otherWorker) || otherAverageLatency<=0){
+                continue;
+            }
+            long busyNanos=getNanosUntilNotBusy(otherWorker, otherAverageLatency, now);
+            if(busyNanos>0){
+                fastestAverageLatency=Math.min(fastestAverageLatency, otherAverageLatency);
+                nanosUntilNotBusy=Math.min(nanosUntilNotBusy, busyNanos);
+            }
+        }
+        boolean worthStealing=fastestAverageLatency==Double.MAX_VALUE
+                || workerLoadTracker.getAverageLatencyNanos(worker)<=fastestAverageLatency*Math.max(numberOfPendingUnits, 1);
+        return worthStealing?0:nanosUntilNotBusy;
+    }
+
+    // called holding the lock
+    private long getNanosUntilNotBusy(String worker, double averageLatency, long now){
+        long nanosUntilNotBusy=0;
+        for(WorkUnit unit: runningUnits){
+            Long startNanos=unit.runningOn.get(worker);
+            if(startNanos!=null){
+                nanosUntilNotBusy=Math.max(nanosUntilNotBusy, startNanos+(long)averageLatency-now);
+            }
+        }
+        return nanosUntilNotBusy;
+    }
+
+    // called holding the lock
+    private WorkUnit nextBackupUnit(String worker){
+        if(backupDelayNanos<0){
+            return null;
+        }
+        WorkUnit oldestUnit=null;
+        for(WorkUnit unit: runningUnits){
+            if(unit.runningOn.size()==1 && !unit.runningOn.containsKey(worker) && (oldestUnit==null || unit.startNanos<oldestUnit.startNanos)){
+                oldestUnit=unit;
+            }
+        }
+        if(oldestUnit==null){
+            return null;
+        }
+        long waitNanos=oldestUnit.startNanos+backupDelayNanos-System.nanoTime();
+        if(waitNanos>0){
+            pullLater(worker, waitNanos);
+            return null;
+        }
+        backupUnits++;
+        System.out.println(String.format("Unit %d has been running on %s for %d ms, running a backup on %s",
+                oldestUnit.index, oldestUnit.runningOn.keySet().iterator().next(), (System.nanoTime()-oldestUnit.startNanos)/1000000, worker));
+        return oldestUnit;
+    }
+
+    private void send(String worker, WorkUnit unit){
+        long startTime=System.nanoTime();
+        long workerDeadlineMillis=Math.max((long)((deadlineNanos-startTime)/1000000*workerDeadlineShare), 1);
+        workerLoadTracker.onTaskSent(worker);
+        client.sendTask(worker, unit.task.withDeadlineMillis(workerDeadlineMillis)).whenComplete((result, error) -> {
+            if(isBusy(error)){
+                workerLoadTracker.onTaskRejected(worker);
+                onUnitRejected(worker, unit);
+                // idle workers may steal the unit while the busy worker catches up
+                pullIdleWorkers();
+                return;
+            }
+            long latency=System.nanoTime()-startTime;
+            boolean succeeded=error==null && result!=null;
+            workerLoadTracker.onTaskCompleted(worker, latency, succeeded);
+            if(succeeded){
+                latencyTracker.record(latency);
+                if(onUnitSucceeded(worker, unit, result)){
+                    finish();
+                    return;
+                }
+                pull(worker);
+                pullIdleWorkers();
+                return;
+            }
+            if(error!=null){
+                error.printStackTrace();
+            }
+            if(onUnitFailed(worker, unit)){
+                System.out.println("Every worker failed");
+                finish();
+                return;
+            }
+            // idle workers have to come back for the units the failed worker leaves behind
+            pullIdleWorkers();
+        });
+    }
+
+    // returns true once the last unit is done
+    private synchronized boolean onUnitSucceeded(String worker, WorkUnit unit, Result result){
+        unitsInFlight.merge(worker, -1, Integer::sum);
+        unit.runningOn.remove(worker);
+        if(unit.done){
+            return false;
+        }
+        unit.done=true;
+        runningUnits.remove(unit);
+        results[unit.index]=result;
+        partial|=result.isPartial();
+        return --remainingUnits==0;
+    }
+
+    private synchronized void onUnitRejected(String worker, WorkUnit unit){
+        unitsInFlight.merge(worker, -1, Integer::sum);
+        unit.runningOn.remove(worker);
+        if(!unit.done && unit.runningOn.isEmpty()){
+            runningUnits.remove(unit);
+            pendingUnits.get(worker).addFirst(unit);
+        }
+        long backoffNanos=Math.max((long) workerLoadTracker.getAverageLatencyNanos(worker), MIN_BUSY_BACKOFF_NANOS);
+        busyWorkers.put(worker, System.nanoTime()+backoffNanos);
+        pullLater(worker, backoffNanos);
+    }
+
+    private static boolean isBusy(Throwable error){
+        if(error instanceof CompletionException && error.getCause()!=null){
+            error=error.getCause();
+        }
+        return error instanceof WorkerBusyException;
+    }
+
+    // returns true once every worker has failed
+    private synchronized boolean onUnitFailed(String worker, WorkUnit unit){
+        unitsInFlight.merge(worker, -1, Integer::sum);
+        unit.runningOn.remove(worker);
+        failedWorkers.add(worker);
+        if(!unit.done && unit.runningOn.isEmpty()){
+            runningUnits.remove(unit);
+            pendingUnits.get(worker).addFirst(unit);
+        }
+        return failedWorkers.size()==pendingUnits.size();
+    }
+
+    // completes allResults outside the lock, since the query carries on in its dependent stages
+    private void finish(){
+        List<Result> finishedResults=new ArrayList<>();
+        synchronized (this){
+            if(finished){
+                return;
+            }
+            finished=true;
+            for(Result result: results){
+                if(result!=null){
+                    finishedResults.add(result);
+                }
+            }
+            partial|=remainingUnits>0;
+            System.out.println(String.format("Received %d/%d results, %d stolen, %d backups%s",
+                    finishedResults.size(), results.length, stolenUnits, backupUnits, partial?", partial":""));
+        }
+        allResults.complete(finishedResults);
+    }
+
+    private static class WorkUnit {
+        private final int index;
+        private final Task task;
+        // when each worker running a copy of the unit started it
+        private final Map<String, Long> runningOn=new HashMap<>();
+        private long startNanos;
+        private boolean done;
+
+        WorkUnit(int index, Task task){
+            this.index=index;
+            this.task=task;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package search;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Tracks an exponentially weighted moving average of every worker's response latency along with the
+// number of tasks it currently has in flight. The expected cost of sending a worker one more task is
+// its average latency times the number of tasks that would then be queued on it. The average of a
+// worker that has not answered for a while decays, so a worker that was slow once is tried again.
+public class WorkerLoadTracker {
+    // weight of the newest sample in the moving average
+    private static final double SMOOTHING=0.3;
+    // a failure counts as this many times the worker's average latency
+    private static final double FAILURE_PENALTY=4;
+    private static final long DECAY_HALF_LIFE_NANOS=10_000_000_000L;
+
+    private final Map<String, WorkerLoad> workerLoads=new ConcurrentHashMap<>();
+
+    public void onTaskSent(String worker){
+        getWorkerLoad(worker).inFlight.incrementAndGet();
+    }
+
+    public void onTaskCompleted(String worker, long latencyNanos, boolean succeeded){
+        WorkerLoad workerLoad=getWorkerLoad(worker);
+        workerLoad.inFlight.decrementAndGet();
+        synchronized (workerLoad){
+            double sample=succeeded?latencyNanos:Math.max(latencyNanos, workerLoad.averageLatencyNanos)*FAILURE_PENALTY;
+            workerLoad.averageLatencyNanos=workerLoad.averageLatencyNanos==0
+                    ?sample
+                    :SMOOTHING*sample+(1-SMOOTHING)*workerLoad.averageLatencyNanos;
+            workerLoad.lastCompletionNanos=System.nanoTime();
+        }
+    }
+
+    // a task the worker turned away because it was busy says nothing about its latency
+    public void onTaskRejected(String worker){
+        getWorkerLoad(worker).inFlight.decrementAndGet();
+    }
+
+    // workers without any completed task cost nothing yet, so they are tried first
+    public double getExpectedCost(String worker){
+        WorkerLoad workerLoad=getWorkerLoad(worker);
+        synchronized (workerLoad){
+            double idleHalfLives=(double)(System.nanoTime()-workerLoad.lastCompletionNanos)/DECAY_HALF_LIFE_NANOS;
+            return workerLoad.averageLatencyNanos*Math.pow(0.5, idleHalfLives)*(workerLoad.inFlight.get()+1);
+        }
+    }
+
+    public double getAverageLatencyNanos(String worker){
+        WorkerLoad workerLoad=getWorkerLoad(worker);
+        synchronized (workerLoad){
+            return workerLoad.averageLatencyNanos;
+        }
+    }
+
+    private WorkerLoad getWorkerLoad(String worker){
+        return workerLoads.computeIfAbsent(worker, ignored -> new WorkerLoad());
+    }
+
+    private static class WorkerLoad {
+        private final AtomicInteger inFlight=new AtomicInteger();
+        private double averageLatencyNanos;
+        private long lastCompletionNanos;
+    }
+}
@@ -0,0 +1,91 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BufferPoolTest {
+
+    @Test
+    void releasedBuffersAreReusedWithinTheirSizeClass(){
+        BufferPool bufferPool=new BufferPool(false);
+        ByteBuffer buffer=bufferPool.acquire(3000);
+        assertEquals(4096, buffer.capacity());
+        buffer.putInt(42);
+        bufferPool.release(buffer);
+
+        ByteBuffer reusedBuffer=bufferPool.acquire(2049);
+        assertSame(buffer, reusedBuffer);
+        assertEquals(0, reusedBuffer.position());
+        assertEquals(reusedBuffer.capacity(), reusedBuffer.limit());
+        assertNotSame(buffer, bufferPool.acquire(1000));
+        assertEquals(2, bufferPool.getAllocatedBuffers());
+        assertEquals(1, bufferPool.getReusedBuffers());
+    }
+
+    @Test
+    void buffersAboveTheLargestSizeClassAreNotKept(){
+        BufferPool bufferPool=new BufferPool(false);
+        ByteBuffer buffer=bufferPool.acquire((1<<22)+1);
+        assertEquals((1<<22)+1, buffer.capacity());
+        bufferPool.release(buffer);
+        assertNotSame(buffer, bufferPool.acquire((1<<22)+1));
+        assertEquals(0, bufferPool.getReusedBuffers());
+    }
+
+    @Test
+    void growKeepsTheContents(){
+        BufferPool bufferPool=new BufferPool(false);
+        ByteBuffer buffer=bufferPool.acquire(0);
+        while(buffer.hasRemaining()){
+            buffer.put((byte) buffer.position());
+        }
+        ByteBuffer grownBuffer=bufferPool.grow(buffer);
+        assertEquals(2*buffer.capacity(), grownBuffer.capacity());
+        assertEquals(buffer.capacity(), grownBuffer.position());
+        for(int i=0;i<buffer.capacity();i++){
+            assertEquals((byte) i, grownBuffer.get(i));
+        }
+    }
+
+    @Test
+    void readFullyReadsStreamsAcrossSizeClasses() throws IOException {
+        BufferPool bufferPool=new BufferPool(true);
+        byte[] bytes=new byte[100_000];
+        new Random(7).nextBytes(bytes);
+        // hands out a few bytes at a time so the buffer is grown while partly filled
+        InputStream inputStream=new ByteArrayInputStream(bytes){
+            @Override
+            public synchronized int read(byte[] b, int off, int len){
+                return super.read(b, off, Math.min(len, 777));
+            }
+        };
+        ByteBuffer buffer=bufferPool.readFully(inputStream);
+        byte[] read=new byte[buffer.remaining()];
+        buffer.get(read);
+        assertArrayEquals(bytes, read);
+        assertEquals(1, bufferPool.getAcquiredBuffers());
+        bufferPool.release(buffer);
+        assertTrue(bufferPool.reportLeaks().isEmpty());
+    }
+
+    @Test
+    void leakDetectionRejectsBuffersThatAreNotAcquired(){
+        BufferPool bufferPool=new BufferPool(true);
+        ByteBuffer buffer=bufferPool.acquire(10);
+        bufferPool.release(buffer);
+        assertThrows(IllegalStateException.class, () -> bufferPool.release(buffer));
+        assertThrows(IllegalStateException.class, () -> bufferPool.release(ByteBuffer.allocate(1024)));
+    }
+}
@@ -0,0 +1,108 @@
+package model;
+
+import model.proto.SearchModel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultWriterTest {
+    private static final List<String> TERMS=Arrays.asList("whale", "sea", "ahab");
+
+    @Test
+    void termFrequenciesWrittenInChunksParseAsOneMessage() throws IOException {
+        Result firstChunk=new Result(TERMS);
+        addDocument(firstChunk, "a.txt", 0.5, 0, 0.25);
+        addDocument(firstChunk, "b.txt", 0, 0, 0);
+        Result secondChunk=new Result(TERMS);
+        addDocument(secondChunk, "c.txt", 1e-9, 0.125, 3);
+
+        ByteArrayOutputStream outputStream=new ByteArrayOutputStream();
+        ResultWriter resultWriter=new ResultWriter(outputStream, TERMS);
+        resultWriter.writeDocuments(firstChunk);
+        resultWriter.flush();
+        resultWriter.writeDocuments(secondChunk);
+        resultWriter.flush();
+
+        SearchModel.Result expected=SearchModel.Result.newBuilder()
+                .addAllTerms(TERMS)
+                .addAllDocuments(Arrays.asList("a.txt", "b.txt", "c.txt"))
+                .addAllTermFrequencies(Arrays.asList(0.5, 0.0, 0.25, 0.0, 0.0, 0.0, 1e-9, 0.125, 3.0))
+                .build();
+        assertEquals(expected, SearchModel.Result.parseFrom(outputStream.toByteArray()));
+    }
+
+    @Test
+    void scoresDocumentFrequenciesAndPartialRoundTrip() throws IOException {
+        Result result=new Result(TERMS);
+        result.addScoredDocument("a.txt", 2.5);
+        result.addScoredDocument("b.txt", -0.5);
+        result.setDocumentFrequencies(42, new int[]{3, 0, 300000});
+        result.setPartial(true);
+
+        SearchModel.Result expected=SearchModel.Result.newBuilder()
+                .addAllTerms(TERMS)
+                .addAllDocuments(Arrays.asList("a.txt", "b.txt"))
+                .addAllScores(Arrays.asList(2.5, -0.5))
+                .setShardSize(42)
+                .addAllDocumentFrequencies(Arrays.asList(3, 0, 300000))
+                .setPartial(true)
+                .build();
+        byte[] serialized=SerializationUtils.serialize(result);
+        assertEquals(expected, SearchModel.Result.parseFrom(serialized));
+
+        Result parsed=SerializationUtils.deserializeResult(serialized);
+        assertTrue(parsed.hasScores());
+        assertEquals(2, parsed.getNumberOfDocuments());
+        assertEquals("b.txt", parsed.getDocument(1));
+        assertEquals(-0.5, parsed.getScore(1));
+        assertEquals(42, parsed.getShardSize());
+        assertEquals(300000, parsed.getDocumentFrequency(2));
+        assertTrue(parsed.isPartial());
+    }
+
+    @Test
+    void termFrequenciesRoundTripThroughSerializationUtils(){
+        Result result=new Result(TERMS);
+        addDocument(result, "a.txt", 0.5, 0, 0.25);
+        addDocument(result, "b.txt", 0, 0.75, 0);
+
+        Result parsed=SerializationUtils.deserializeResult(SerializationUtils.serialize(result));
+        assertFalse(parsed.hasScores());
+        assertFalse(parsed.isPartial());
+        assertEquals(TERMS, parsed.getTerms());
+        assertEquals(2, parsed.getNumberOfDocuments());
+        for(int documentIndex=0;documentIndex<2;documentIndex++){
+            assertEquals(result.getDocument(documentIndex), parsed.getDocument(documentIndex));
+            for(int termId=0;termId<TERMS.size();termId++){
+                assertEquals(result.getFrequency(documentIndex, termId), parsed.getFrequency(documentIndex, termId));
+            }
+        }
+    }
+
+    @Test
+    void resultWithoutTermsOnlyCarriesDocuments() throws IOException {
+        Result result=new Result(List.of());
+        result.addDocument("a.txt");
+
+        ByteArrayOutputStream outputStream=new ByteArrayOutputStream();
+        ResultWriter resultWriter=new ResultWriter(outputStream, List.of());
+        resultWriter.writeDocuments(result);
+        resultWriter.flush();
+
+        assertEquals(SearchModel.Result.newBuilder().addDocuments("a.txt").build(), SearchModel.Result.parseFrom(outputStream.toByteArray()));
+    }
+
+    private static void addDocument(Result result, String document, double... termFrequencies){
+        int documentIndex=result.addDocument(document);
+        for(int termId=0;termId<termFrequencies.length;termId++){
+            result.putTermFrequency(documentIndex, termId, termFrequencies[termId]);
+        }
+    }
+}
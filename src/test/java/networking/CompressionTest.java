@@ -0,0 +1,40 @@
+package networking;
+
+import model.BufferPool;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressionTest {
+    @Test
+    void deflateIsAcceptedUnlessItsQualityIsZero(){
+        assertTrue(Compression.isDeflate(List.of("deflate")));
+        assertTrue(Compression.isDeflate(List.of("gzip, Deflate;q=0.5")));
+        assertTrue(Compression.isDeflate(List.of("gzip", "deflate ; q=1")));
+        assertTrue(Compression.isDeflate(List.of("*")));
+        assertFalse(Compression.isDeflate(List.of("deflate;q=0")));
+        assertFalse(Compression.isDeflate(List.of("gzip, deflate; q=0.000")));
+        assertFalse(Compression.isDeflate(List.of("*, deflate;q=0")));
+        assertFalse(Compression.isDeflate(List.of("*;q=0")));
+        assertFalse(Compression.isDeflate(List.of("deflate-x, gzip")));
+        assertFalse(Compression.isDeflate(List.of("identity")));
+        assertFalse(Compression.isDeflate(null));
+    }
+
+    @Test
+    void inflateRestoresDeflatedBytes() throws Exception {
+        byte[] data=new byte[Compression.THRESHOLD*3];
+        for(int i=0;i<data.length;i++){
+            data[i]=(byte) ('a'+i%26);
+        }
+        ByteBuffer inflated=Compression.inflate(ByteBuffer.wrap(Compression.deflate(data, 0, data.length)), BufferPool.HEAP);
+        byte[] inflatedData=new byte[inflated.remaining()];
+        inflated.get(inflatedData);
+        assertArrayEquals(data, inflatedData);
+    }
+}
@@ -0,0 +1,105 @@
+package networking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import search.SearchWorker;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TcpServerTest {
+    private static final int PORT=18182;
+    private static final URI SERVER=URI.create("tcp://localhost:"+PORT);
+    private TcpServer tcpServer;
+    private final TcpClient tcpClient=new TcpClient();
+
+    @AfterEach
+    void stopServer(){
+        tcpClient.close();
+        tcpServer.stop();
+    }
+
+    @Test
+    void callbacksThatThrowAreAnsweredWithAnError() throws Exception {
+        startServer(new OnRequestCallback() {
+            @Override
+            public byte[] handleRequest(byte[] requestPayload){
+                if(requestPayload.length==0){
+                    throw new IllegalStateException("no payload");
+                }
+                return requestPayload;
+            }
+
+            @Override
+            public String getEndpoint(){
+                return "/task";
+            }
+        });
+        assertFailsQuickly(tcpClient.send(SERVER, ByteBuffer.allocate(0)));
+        // the connection is still usable afterwards
+        assertArrayEquals(new byte[]{1, 2}, tcpClient.send(SERVER, ByteBuffer.wrap(new byte[]{1, 2})).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void workersAnswerTasksTheyCannotReadWithAnError() throws Exception {
+        startServer(new SearchWorker(false));
+        assertFailsQuickly(tcpClient.send(SERVER, ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xFF, 0x01})));
+    }
+
+    @Test
+    void requestsBeyondThePendingLimitAreTurnedAwayAsBusy() throws Exception {
+        CountDownLatch started=new CountDownLatch(1);
+        CountDownLatch release=new CountDownLatch(1);
+        // one thread and one pending request, held until released
+        startServer(new OnRequestCallback() {
+            @Override
+            public byte[] handleRequest(byte[] requestPayload){
+                started.countDown();
+                try{
+                    release.await();
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+                return requestPayload;
+            }
+
+            @Override
+            public String getEndpoint(){
+                return "/task";
+            }
+        }, RequestExecutor.platformThreads(1, 1));
+        CompletableFuture<byte[]> heldResponse=tcpClient.send(SERVER, ByteBuffer.wrap(new byte[]{1}));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for(int i=0;i<2;i++){
+            CompletableFuture<byte[]> rejectedResponse=tcpClient.send(SERVER, ByteBuffer.wrap(new byte[]{2}));
+            ExecutionException e=assertThrows(ExecutionException.class, () -> rejectedResponse.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(WorkerBusyException.class, e.getCause());
+        }
+        release.countDown();
+        assertArrayEquals(new byte[]{1}, heldResponse.get(5, TimeUnit.SECONDS));
+    }
+
+    private void startServer(OnRequestCallback onRequestCallback){
+        startServer(onRequestCallback, RequestExecutor.fromProperties());
+    }
+
+    private void startServer(OnRequestCallback onRequestCallback, RequestExecutor requestExecutor){
+        tcpServer=new TcpServer(PORT, onRequestCallback, requestExecutor);
+        tcpServer.startServer();
+    }
+
+    private static void assertFailsQuickly(CompletableFuture<byte[]> response){
+        ExecutionException e=assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+}
@@ -0,0 +1,200 @@
+package networking;
+
+import model.BufferPool;
+import model.Result;
+import model.SerializationUtils;
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebServerTest {
+    private static final int PORT=18181;
+    private WebServer webServer;
+
+    @BeforeAll
+    static void disableNagle(){
+        // set by OnElectionAction in a real node, without it every response waits for a delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @BeforeEach
+    void startServer(){
+        // echoes the request body, so an empty request gets an empty response
+        webServer=new WebServer(PORT, new OnStreamingRequestCallback() {
+            @Override
+            public void handleRequest(InputStream requestBody, OutputStream responseBody) throws IOException {
+                responseBody.write(requestBody.readAllBytes());
+            }
+
+            @Override
+            public byte[] handleRequest(byte[] requestPayload){
+                return requestPayload;
+            }
+
+            @Override
+            public String getEndpoint(){
+                return "/task";
+            }
+        });
+        webServer.startServer();
+    }
+
+    @AfterEach
+    void stopServer(){
+        webServer.stop();
+    }
+
+    @Test
+    void emptyAndNonEmptyResponsesShareKeepAliveConnections() throws Exception {
+        HttpClient client=HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI uri=URI.create("http://localhost:"+PORT+"/task");
+        for(int i=0;i<300;i++){
+            byte[] body=i%2==0?new byte[0]:("task "+i).getBytes();
+            HttpResponse<byte[]> response=client.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(200, response.statusCode());
+            assertEquals(new String(body), new String(response.body()));
+        }
+    }
+
+    @Test
+    void responsesAboveTheCompressionThresholdAreStreamed() throws Exception {
+        HttpClient client=HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        byte[] body=new byte[Compression.THRESHOLD*3+5];
+        for(int i=0;i<body.length;i++){
+            body[i]=(byte) ('a'+i%26);
+        }
+        HttpResponse<byte[]> response=client.send(HttpRequest.newBuilder(URI.create("http://localhost:"+PORT+"/task"))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        assertEquals(new String(body), new String(response.body()));
+    }
+
+    @Test
+    void requestsBeyondThePendingLimitAreTurnedAwayAsBusy() throws Exception {
+        CountDownLatch started=new CountDownLatch(1);
+        CountDownLatch release=new CountDownLatch(1);
+        // one thread and one pending request, held until released
+        restartServer(new OnRequestCallback() {
+            @Override
+            public byte[] handleRequest(byte[] requestPayload){
+                started.countDown();
+                try{
+                    release.await();
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+                return SerializationUtils.serialize(new Result(SerializationUtils.deserializeTask(requestPayload).getSearchTerms()));
+            }
+
+            @Override
+            public String getEndpoint(){
+                return "/task";
+            }
+        }, RequestExecutor.platformThreads(1, 1));
+        WebClient webClient=new WebClient();
+        String url="http://localhost:"+PORT+"/task";
+        Task task=new Task(List.of("whale"), List.of("a.txt"));
+        CompletableFuture<Result> heldResult=webClient.sendTask(url, task);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for(int i=0;i<2;i++){
+            CompletableFuture<Result> rejectedResult=webClient.sendTask(url, task);
+            ExecutionException e=assertThrows(ExecutionException.class, () -> rejectedResult.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(WorkerBusyException.class, e.getCause());
+        }
+        release.countDown();
+        assertEquals(List.of("whale"), heldResult.get(5, TimeUnit.SECONDS).getTerms());
+    }
+
+    @Test
+    void deflatedRequestsAndResponsesAboveTheThresholdRoundTrip() throws Exception {
+        HttpClient client=HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        byte[] body=new byte[Compression.THRESHOLD*3+5];
+        for(int i=0;i<body.length;i++){
+            body[i]=(byte) ('a'+i%26);
+        }
+        HttpResponse<byte[]> response=client.send(HttpRequest.newBuilder(URI.create("http://localhost:"+PORT+"/task"))
+                .header(Compression.ACCEPT_ENCODING, Compression.DEFLATE)
+                .header(Compression.CONTENT_ENCODING, Compression.DEFLATE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(Compression.deflate(body, 0, body.length))).build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(Compression.DEFLATE), response.headers().allValues(Compression.CONTENT_ENCODING));
+        ByteBuffer inflated=Compression.inflate(ByteBuffer.wrap(response.body()), BufferPool.HEAP);
+        byte[] inflatedBody=new byte[inflated.remaining()];
+        inflated.get(inflatedBody);
+        assertArrayEquals(body, inflatedBody);
+    }
+
+    @Test
+    void webClientDeflatesTasksOnceTheWorkerAcceptsIt() throws Exception {
+        List<Boolean> deflatedRequests=new CopyOnWriteArrayList<>();
+        // answers a task with a result naming its documents, large enough to be deflated as well
+        restartServer(new OnStreamingRequestCallback() {
+            @Override
+            public void handleRequest(InputStream requestBody, OutputStream responseBody) throws IOException {
+                deflatedRequests.add(requestBody instanceof InflaterInputStream);
+                responseBody.write(handleRequest(requestBody.readAllBytes()));
+            }
+
+            @Override
+            public byte[] handleRequest(byte[] requestPayload){
+                Task task=SerializationUtils.deserializeTask(requestPayload);
+                Result result=new Result(task.getSearchTerms());
+                for(String document: task.getDocuments()){
+                    result.addDocument(document);
+                }
+                return SerializationUtils.serialize(result);
+            }
+
+            @Override
+            public String getEndpoint(){
+                return "/task";
+            }
+        }, RequestExecutor.fromProperties());
+        List<String> documents=new ArrayList<>();
+        for(int i=0;i<1000;i++){
+            documents.add("./resources/books/Book_"+i+".txt");
+        }
+        WebClient webClient=new WebClient();
+        for(int i=0;i<2;i++){
+            Result result=webClient.sendTask("http://localhost:"+PORT+"/task", new Task(List.of("whale"), documents)).get(5, TimeUnit.SECONDS);
+            assertEquals(documents.size(), result.getNumberOfDocuments());
+            for(int documentIndex=0;documentIndex<documents.size();documentIndex++){
+                assertEquals(documents.get(documentIndex), result.getDocument(documentIndex));
+            }
+        }
+        // the first response tells the client that the worker accepts deflated requests
+        assertEquals(List.of(false, true), deflatedRequests);
+    }
+
+    private void restartServer(OnRequestCallback onRequestCallback, RequestExecutor requestExecutor){
+        webServer.stop();
+        webServer=new WebServer(PORT, onRequestCallback, requestExecutor);
+        webServer.startServer();
+    }
+}
@@ -0,0 +1,62 @@
+package search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+    private static final int NUMBER_OF_KEYS=10000;
+
+    @Test
+    void everyWorkerIsAnOwnerOnce(){
+        ConsistentHashRing ring=new ConsistentHashRing(Arrays.asList("a", "b", "c", "b"), 16);
+        for(int i=0;i<100;i++){
+            List<String> owners=ring.getOwners("key"+i);
+            assertEquals(3, owners.size());
+            assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), new HashSet<>(owners));
+        }
+        assertTrue(new ConsistentHashRing(Arrays.asList(), 16).getOwners("key").isEmpty());
+    }
+
+    @Test
+    void keysSpreadEvenlyOverTheWorkers(){
+        List<String> workers=Arrays.asList("w0", "w1", "w2", "w3", "w4");
+        Map<String, Integer> keysPerWorker=new HashMap<>();
+        for(String owner: getFirstOwners(new ConsistentHashRing(workers, 128)).values()){
+            keysPerWorker.merge(owner, 1, Integer::sum);
+        }
+        for(String worker: workers){
+            int keys=keysPerWorker.getOrDefault(worker, 0);
+            assertTrue(Math.abs(keys-NUMBER_OF_KEYS/workers.size())<0.2*NUMBER_OF_KEYS/workers.size(), worker+" owns "+keys+" keys");
+        }
+    }
+
+    @Test
+    void addingAWorkerOnlyMovesKeysToIt(){
+        Map<String, String> before=getFirstOwners(new ConsistentHashRing(Arrays.asList("w0", "w1", "w2", "w3"), 128));
+        Map<String, String> after=getFirstOwners(new ConsistentHashRing(Arrays.asList("w0", "w1", "w2", "w3", "w4"), 128));
+        int moved=0;
+        for(Map.Entry<String, String> owner: before.entrySet()){
+            if(!owner.getValue().equals(after.get(owner.getKey()))){
+                assertEquals("w4", after.get(owner.getKey()));
+                moved++;
+            }
+        }
+        assertTrue(Math.abs(moved-NUMBER_OF_KEYS/5)<0.2*NUMBER_OF_KEYS/5, moved+" keys moved");
+    }
+
+    private static Map<String, String> getFirstOwners(ConsistentHashRing ring){
+        Map<String, String> owners=new HashMap<>();
+        for(int i=0;i<NUMBER_OF_KEYS;i++){
+            owners.put("key"+i, ring.getOwners("key"+i).get(0));
+        }
+        return owners;
+    }
+}
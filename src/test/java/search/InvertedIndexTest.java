@@ -0,0 +1,61 @@
+package search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InvertedIndexTest {
+    private final InvertedIndex index=new InvertedIndex();
+
+    @BeforeEach
+    void indexDocuments(){
+        addDocument("a.txt", "whale sea whale");
+        addDocument("b.txt", "sea ship");
+        addDocument("c.txt", "Whale whale whale");
+        // indexing a document again keeps its first counts
+        addDocument("a.txt", "ship");
+    }
+
+    @Test
+    void documentsThatAreNotIndexedHaveNoId(){
+        assertArrayEquals(new int[]{0, -1, 2, 1}, index.getDocumentIds(List.of("a.txt", "missing.txt", "c.txt", "b.txt")));
+        assertEquals(3, index.getNumberOfDocuments());
+        assertEquals(3, index.getDocumentLength(0));
+    }
+
+    @Test
+    void termCountsFollowTheOrderOfTheDocumentIds(){
+        assertArrayEquals(new int[]{3, 0, 2}, index.getTermCounts("WHALE", new int[]{2, 1, 0}));
+        assertArrayEquals(new int[]{0, 1, 1}, index.getTermCounts("sea", new int[]{2, 1, 0}));
+        assertArrayEquals(new int[0], index.getTermCounts("whale", new int[0]));
+    }
+
+    @Test
+    void documentsThatAreNotIndexedCountZero(){
+        assertArrayEquals(new int[]{0, 2, 0, 3}, index.getTermCounts("whale", new int[]{-1, 0, -1, 2}));
+        assertArrayEquals(new int[]{0, 0}, index.getTermCounts("whale", new int[]{-1, -1}));
+    }
+
+    @Test
+    void repeatedDocumentIdsAreEachCounted(){
+        assertArrayEquals(new int[]{3, 2, 3, 0, 2}, index.getTermCounts("whale", new int[]{2, 0, 2, 1, 0}));
+        assertArrayEquals(new int[]{1, 1, 0}, index.getTermCounts("ship", new int[]{1, 1, 0}));
+    }
+
+    @Test
+    void termsWithoutPostingsCountZero(){
+        assertArrayEquals(new int[]{0, 0, 0, 0}, index.getTermCounts("ahab", new int[]{0, 1, 2, -1}));
+        // "ship" of the second a.txt was never indexed
+        assertArrayEquals(new int[]{0}, index.getTermCounts("ship", new int[]{0}));
+    }
+
+    private void addDocument(String document, String text){
+        TermCounts termCounts=new TermCounts();
+        new Tokenizer().tokenize(text, termCounts);
+        index.addDocument(document, termCounts);
+    }
+}
@@ -0,0 +1,85 @@
+package search;
+
+import model.proto.SearchModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class QueryResultCacheTest {
+    private static final long HOUR_NANOS=TimeUnit.HOURS.toNanos(1);
+
+    @Test
+    void responsesExpireAfterTheirTtl() throws InterruptedException {
+        QueryResultCache cache=new QueryResultCache(1<<20, TimeUnit.MILLISECONDS.toNanos(20));
+        SearchModel.Response response=response("a.txt");
+        cache.put("whale", response);
+        assertSame(response, cache.get("whale"));
+        Thread.sleep(50);
+        assertNull(cache.get("whale"));
+        assertEquals("1", cache.getMetrics().get("Query-Cache-Expirations"));
+        assertEquals("0", cache.getMetrics().get("Query-Cache-Entries"));
+        assertEquals("0", cache.getMetrics().get("Query-Cache-Bytes"));
+    }
+
+    @Test
+    void leastRecentlyUsedResponsesAreEvictedOnceTheCacheIsFull(){
+        // room for exactly two responses of the same size
+        QueryResultCache cache=new QueryResultCache(2*entryBytes("q1", response("a.txt")), HOUR_NANOS);
+        cache.put("q1", response("a.txt"));
+        cache.put("q2", response("b.txt"));
+        cache.get("q1");
+        cache.put("q3", response("c.txt"));
+
+        assertNull(cache.get("q2"));
+        assertEquals("a.txt", cache.get("q1").getRelevantDocuments(0).getDocumentName());
+        assertEquals("c.txt", cache.get("q3").getRelevantDocuments(0).getDocumentName());
+        assertEquals("1", cache.getMetrics().get("Query-Cache-Evictions"));
+        assertEquals(String.valueOf(2*entryBytes("q1", response("a.txt"))), cache.getMetrics().get("Query-Cache-Bytes"));
+    }
+
+    @Test
+    void replacedAndOversizedResponsesKeepTheSizeExact(){
+        QueryResultCache cache=new QueryResultCache(entryBytes("q1", response("a.txt")), HOUR_NANOS);
+        cache.put("q1", response("a.txt"));
+        cache.put("q1", response("b.txt"));
+        assertEquals("b.txt", cache.get("q1").getRelevantDocuments(0).getDocumentName());
+        assertEquals(String.valueOf(entryBytes("q1", response("a.txt"))), cache.getMetrics().get("Query-Cache-Bytes"));
+
+        // a response that could never fit is not cached and does not evict anything
+        cache.put("q2", response("a much longer document name.txt"));
+        assertNull(cache.get("q2"));
+        assertEquals("b.txt", cache.get("q1").getRelevantDocuments(0).getDocumentName());
+        assertEquals("0", cache.getMetrics().get("Query-Cache-Evictions"));
+    }
+
+    @Test
+    void invalidateAllDropsEveryResponse(){
+        QueryResultCache cache=new QueryResultCache(1<<20, HOUR_NANOS);
+        cache.put("q1", response("a.txt"));
+        cache.put("q2", response("b.txt"));
+
+        assertEquals(2, cache.invalidateAll());
+        assertNull(cache.get("q1"));
+        assertNull(cache.get("q2"));
+        assertEquals("2", cache.getMetrics().get("Query-Cache-Invalidations"));
+        assertEquals("0", cache.getMetrics().get("Query-Cache-Bytes"));
+        assertEquals(0, cache.invalidateAll());
+    }
+
+    private static SearchModel.Response response(String document){
+        return SearchModel.Response.newBuilder()
+                .addRelevantDocuments(SearchModel.Response.DocumentStats.newBuilder().setDocumentName(document).setScore(1))
+                .build();
+    }
+
+    // the size QueryResultCache accounts for the response under key
+    private static long entryBytes(String key, SearchModel.Response response){
+        QueryResultCache cache=new QueryResultCache(Long.MAX_VALUE, HOUR_NANOS);
+        cache.put(key, response);
+        return Long.parseLong(cache.getMetrics().get("Query-Cache-Bytes"));
+    }
+}
@@ -0,0 +1,219 @@
+package search;
+
+import cluster.management.ServiceRegistry;
+import model.BufferPool;
+import model.Result;
+import model.Task;
+import model.proto.SearchModel;
+import networking.WebClient;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchCoordinatorTest {
+    private static final int NUMBER_OF_DOCUMENTS=2000;
+    // documents are placed by the hash of their path, so the path is fixed to keep the placement the same on every run
+    private static final Path DOCUMENTS_DIRECTORY=Paths.get("target", "split-documents");
+    private static final List<String> documents=new ArrayList<>();
+
+    @BeforeAll
+    static void createDocuments() throws IOException {
+        // sizes spread like those of books, only the length of the documents is read
+        Files.createDirectories(DOCUMENTS_DIRECTORY);
+        Random random=new Random(1);
+        for(int i=0;i<NUMBER_OF_DOCUMENTS;i++){
+            String document=DOCUMENTS_DIRECTORY.resolve(String.format("doc%04d.txt", i)).toString();
+            try(RandomAccessFile file=new RandomAccessFile(document, "rw")){
+                file.setLength((long) Math.exp(12+random.nextGaussian()));
+            }
+            documents.add(document);
+        }
+    }
+
+    @Test
+    void everyDocumentIsAssignedOnce(){
+        Map<String, List<String>> workerDocuments=SearchCoordinator.splitDocumentList(workers(5), documents);
+        assertEquals(5, workerDocuments.size());
+        assertEquals(NUMBER_OF_DOCUMENTS, getOwners(workerDocuments).size());
+        assertEquals(NUMBER_OF_DOCUMENTS, workerDocuments.values().stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void addingAWorkerMovesAboutItsShare(){
+        Map<String, String> before=getOwners(SearchCoordinator.splitDocumentList(workers(7), documents));
+        Map<String, String> after=getOwners(SearchCoordinator.splitDocumentList(workers(8), documents));
+        assertMoved(before, after, 1.0/8);
+    }
+
+    @Test
+    void removingAWorkerMovesAboutItsShare(){
+        List<String> remainingWorkers=workers(7);
+        Map<String, String> before=getOwners(SearchCoordinator.splitDocumentList(remainingWorkers, documents));
+        remainingWorkers.remove(3);
+        Map<String, String> after=getOwners(SearchCoordinator.splitDocumentList(remainingWorkers, documents));
+        assertMoved(before, after, 1.0/7);
+    }
+
+    @Test
+    void identicalQueriesWithALaterDeadlineJoinTheOneInFlight(){
+        HeldWebClient client=new HeldWebClient();
+        SearchCoordinator coordinator=createCoordinator(client);
+
+        CompletableFuture<byte[]> first=coordinator.handleRequestAsync(request("whale", 5000));
+        int sentTasks=client.sentTasks.get();
+        CompletableFuture<byte[]> second=coordinator.handleRequestAsync(request("whale", 6000));
+
+        assertTrue(sentTasks>0);
+        assertEquals(sentTasks, client.sentTasks.get());
+        client.release();
+        assertFalse(parse(first.join()).getPartial());
+        assertArrayEquals(first.join(), second.join());
+    }
+
+    @Test
+    void identicalQueriesWithAnEarlierDeadlineSearchOnTheirOwn(){
+        HeldWebClient client=new HeldWebClient();
+        SearchCoordinator coordinator=createCoordinator(client);
+
+        CompletableFuture<byte[]> first=coordinator.handleRequestAsync(request("whale", 6000));
+        int sentTasks=client.sentTasks.get();
+        CompletableFuture<byte[]> second=coordinator.handleRequestAsync(request("whale", 5000));
+        // a different query never joins
+        CompletableFuture<byte[]> third=coordinator.handleRequestAsync(request("ahab", 6000));
+
+        assertEquals(3*sentTasks, client.sentTasks.get());
+        client.release();
+        assertArrayEquals(first.join(), second.join());
+        assertFalse(parse(third.join()).getPartial());
+    }
+
+    @Test
+    void aFailedSearchFreesItsQueryForTheNextOne(){
+        HeldWebClient client=new HeldWebClient();
+        SearchCoordinator coordinator=createCoordinator(client);
+
+        client.failing=true;
+        CompletionException e=assertThrows(CompletionException.class, () -> coordinator.handleRequestAsync(request("whale", 5000)).join());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        client.failing=false;
+        int sentTasks=client.sentTasks.get();
+        CompletableFuture<byte[]> retried=coordinator.handleRequestAsync(request("whale", 5000));
+
+        assertTrue(client.sentTasks.get()>sentTasks);
+        client.release();
+        assertFalse(parse(retried.join()).getPartial());
+    }
+
+    private static SearchCoordinator createCoordinator(WebClient client){
+        List<String> workers=workers(2);
+        ServiceRegistry serviceRegistry=new ServiceRegistry(null, ServiceRegistry.WORKERS_REGISTRY_NODE){
+            @Override
+            public synchronized List<String> getAllServiceAddresses(){
+                return workers;
+            }
+        };
+        return new SearchCoordinator(serviceRegistry, client, new File(SearchCoordinator.BOOKS_DIRECTORY).lastModified(), documents.subList(0, 32));
+    }
+
+    private static byte[] request(String query, long deadlineMillis){
+        return SearchModel.Request.newBuilder().setSearchQuery(query).setDeadlineMillis(deadlineMillis).build().toByteArray();
+    }
+
+    private static SearchModel.Response parse(byte[] response){
+        try{
+            return SearchModel.Response.parseFrom(response);
+        }catch (IOException e){
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void assertMoved(Map<String, String> before, Map<String, String> after, double share){
+        int moved=0;
+        for(String document: documents){
+            if(!before.get(document).equals(after.get(document))){
+                moved++;
+            }
+        }
+        assertTrue(moved<=1.25*share*NUMBER_OF_DOCUMENTS, moved+" of "+NUMBER_OF_DOCUMENTS+" documents moved");
+    }
+
+    private static List<String> workers(int numberOfWorkers){
+        List<String> workers=new ArrayList<>();
+        for(int i=0;i<numberOfWorkers;i++){
+            workers.add("http://worker"+i+":8081/task");
+        }
+        return workers;
+    }
+
+    private static Map<String, String> getOwners(Map<String, List<String>> workerDocuments){
+        Map<String, String> owners=new HashMap<>();
+        workerDocuments.forEach((worker, assignedDocuments) -> assignedDocuments.forEach(document -> owners.put(document, worker)));
+        return owners;
+    }
+
+    // holds every task until released, then answers each with an empty result. Tasks sent while
+    // failing throw like a client that cannot send them
+    private static class HeldWebClient extends WebClient {
+        private final AtomicInteger sentTasks=new AtomicInteger();
+        private final List<CompletableFuture<Result>> heldResponses=new ArrayList<>();
+        private final List<Result> heldResults=new ArrayList<>();
+        private volatile boolean failing;
+        private boolean holding=true;
+
+        HeldWebClient(){
+            super(BufferPool.HEAP);
+        }
+
+        @Override
+        public CompletableFuture<Result> sendTask(String url, Task task){
+            sentTasks.incrementAndGet();
+            if(failing){
+                throw new IllegalStateException("Cannot send to "+url);
+            }
+            Result result=new Result(task.getSearchTerms());
+            synchronized (this){
+                if(holding){
+                    CompletableFuture<Result> response=new CompletableFuture<>();
+                    heldResponses.add(response);
+                    heldResults.add(result);
+                    return response;
+                }
+            }
+            return CompletableFuture.completedFuture(result);
+        }
+
+        void release(){
+            List<CompletableFuture<Result>> responses;
+            List<Result> results;
+            synchronized (this){
+                holding=false;
+                responses=new ArrayList<>(heldResponses);
+                results=new ArrayList<>(heldResults);
+            }
+            for(int i=0;i<responses.size();i++){
+                responses.get(i).complete(results.get(i));
+            }
+        }
+    }
+}
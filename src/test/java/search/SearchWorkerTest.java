@@ -0,0 +1,99 @@
+package search;
+
+import model.Result;
+import model.SerializationUtils;
+import model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchWorkerTest {
+    private static final List<String> TERMS=Arrays.asList("whale");
+
+    @TempDir
+    Path documentsDirectory;
+
+    @Test
+    void topDocumentsKeepTheirNamesAfterAnUnreadableDocument() throws IOException {
+        List<String> documents=Arrays.asList(document("missing.txt", null), document("a.txt", "whale whale sea"),
+                document("b.txt", "no match here"), document("c.txt", "a whale or two"));
+        for(boolean indexDocuments: new boolean[]{false, true}){
+            Result result=search(new SearchWorker(indexDocuments, ForkJoinPool.commonPool(), 1),
+                    Task.forTopDocuments(TERMS, documents, new double[]{1}, 10));
+            assertTrue(result.isPartial());
+            assertEquals(2, result.getNumberOfDocuments());
+            assertEquals(documents.get(1), result.getDocument(0));
+            assertEquals(2.0/3, result.getScore(0), 1e-9);
+            assertEquals(documents.get(3), result.getDocument(1));
+            assertEquals(1.0/4, result.getScore(1), 1e-9);
+        }
+    }
+
+    @Test
+    void topDocumentsKeepTheirNamesAcrossChunks() throws IOException {
+        // enough documents to be split into several chunks, with an unreadable one in each
+        String[] documents=new String[64];
+        for(int i=0;i<documents.length;i++){
+            documents[i]=i%8==0?document("missing"+i+".txt", null):document("d"+i+".txt", "whale "+"sea ".repeat(i));
+        }
+        for(boolean indexDocuments: new boolean[]{false, true}){
+            Result result=search(new SearchWorker(indexDocuments, ForkJoinPool.commonPool(), 4),
+                    Task.forTopDocuments(TERMS, Arrays.asList(documents), new double[]{1}, 5));
+            assertTrue(result.isPartial());
+            int[] expected={1, 2, 3, 4, 5};
+            for(int rank=0;rank<expected.length;rank++){
+                assertEquals(documents[expected[rank]], result.getDocument(rank));
+                assertEquals(1.0/(expected[rank]+1), result.getScore(rank), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void readableDocumentsGiveACompleteResult() throws IOException {
+        List<String> documents=Arrays.asList(document("a.txt", "whale whale sea"), document("c.txt", "a whale or two"));
+        Result result=search(new SearchWorker(false, ForkJoinPool.commonPool(), 1), Task.forTopDocuments(TERMS, documents, new double[]{1}, 1));
+        assertFalse(result.isPartial());
+        assertEquals(1, result.getNumberOfDocuments());
+        assertEquals(documents.get(0), result.getDocument(0));
+    }
+
+    @Test
+    void aSingleChunkIsComputedOnTheComputePool() throws IOException {
+        AtomicInteger computeThreads=new AtomicInteger();
+        ForkJoinPool computePool=new ForkJoinPool(1, pool->{
+            computeThreads.incrementAndGet();
+            return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        }, null, false);
+        try{
+            Result result=search(new SearchWorker(false, computePool, 4), Task.forTopDocuments(TERMS, Arrays.asList(document("a.txt", "whale")), new double[]{1}, 1));
+            assertEquals(1, result.getNumberOfDocuments());
+            assertEquals(1, computeThreads.get());
+        }finally {
+            computePool.shutdown();
+        }
+    }
+
+    private String document(String name, String text) throws IOException {
+        Path document=documentsDirectory.resolve(name);
+        if(text!=null){
+            Files.write(document, text.getBytes(StandardCharsets.UTF_8));
+        }
+        return document.toString();
+    }
+
+    private static Result search(SearchWorker searchWorker, Task task){
+        return SerializationUtils.deserializeResult(searchWorker.handleRequest(SerializationUtils.serialize(task)));
+    }
+}
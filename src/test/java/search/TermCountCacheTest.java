@@ -0,0 +1,94 @@
+package search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TermCountCacheTest {
+    private static final List<String> WHALE_AND_SEA=List.of("whale", "sea");
+
+    @Test
+    void documentsAreNotCountedUntilEveryTermIsCached(){
+        TermCountCache cache=new TermCountCache(1<<20);
+        int[] documentIds=cache.getDocumentIds(List.of("a.txt", "b.txt"));
+        assertArrayEquals(new int[]{0, 1}, documentIds);
+        assertArrayEquals(new int[]{TermCountCache.NOT_COUNTED, TermCountCache.NOT_COUNTED}, getLengths(cache, WHALE_AND_SEA, documentIds));
+
+        put(cache, WHALE_AND_SEA, 0, "Whale sea whale ship");
+        int[][] counts=new int[2][2];
+        int[] lengths=new int[2];
+        cache.get(WHALE_AND_SEA, documentIds, counts, lengths);
+        assertArrayEquals(new int[]{4, TermCountCache.NOT_COUNTED}, lengths);
+        assertArrayEquals(new int[]{2, 0}, counts[0]);
+        assertArrayEquals(new int[]{1, 0}, counts[1]);
+        // ship was never asked for, so a.txt has to be scanned again for it
+        assertArrayEquals(new int[]{TermCountCache.NOT_COUNTED}, getLengths(cache, List.of("WHALE", "ship"), new int[]{0}));
+        assertEquals("1", cache.getMetrics().get("Term-Cache-Hits"));
+        assertEquals("4", cache.getMetrics().get("Term-Cache-Misses"));
+    }
+
+    @Test
+    void countsSurviveTheGrowthOfTheDocumentIds(){
+        TermCountCache cache=new TermCountCache(1<<20);
+        cache.getDocumentIds(List.of("a.txt"));
+        put(cache, WHALE_AND_SEA, 0, "whale");
+        List<String> documents=new ArrayList<>();
+        for(int i=0;i<100;i++){
+            documents.add("d"+i+".txt");
+        }
+        int[] documentIds=cache.getDocumentIds(documents);
+        assertEquals(100, documentIds[99]);
+        // the same document keeps its id
+        assertArrayEquals(new int[]{0}, cache.getDocumentIds(List.of("a.txt")));
+        put(cache, WHALE_AND_SEA, 100, "sea sea");
+
+        int[][] counts=new int[2][3];
+        int[] lengths=new int[3];
+        cache.get(WHALE_AND_SEA, new int[]{0, 50, 100}, counts, lengths);
+        assertArrayEquals(new int[]{1, TermCountCache.NOT_COUNTED, 2}, lengths);
+        assertArrayEquals(new int[]{1, 0, 0}, counts[0]);
+        assertArrayEquals(new int[]{0, 0, 2}, counts[1]);
+    }
+
+    @Test
+    void leastRecentlyUsedTermsAreEvictedOnceTheCacheIsFull(){
+        // room for the counts of two terms over one document
+        TermCountCache cache=new TermCountCache(2*(96+4));
+        int[] documentIds=cache.getDocumentIds(List.of("a.txt"));
+        put(cache, List.of("whale"), 0, "whale sea ship");
+        put(cache, List.of("sea"), 0, "whale sea ship");
+        getLengths(cache, List.of("whale"), documentIds);
+        put(cache, List.of("ship"), 0, "whale sea ship");
+
+        assertArrayEquals(new int[]{TermCountCache.NOT_COUNTED}, getLengths(cache, List.of("sea"), documentIds));
+        assertArrayEquals(new int[]{3}, getLengths(cache, List.of("whale", "ship"), documentIds));
+        assertEquals("1", cache.getMetrics().get("Term-Cache-Evictions"));
+        assertEquals("2", cache.getMetrics().get("Term-Cache-Terms"));
+        assertEquals("200", cache.getMetrics().get("Term-Cache-Bytes"));
+    }
+
+    @Test
+    void aCacheWithoutRoomKeepsNothing(){
+        TermCountCache cache=new TermCountCache(0);
+        int[] documentIds=cache.getDocumentIds(List.of("a.txt"));
+        put(cache, WHALE_AND_SEA, 0, "whale sea");
+        assertArrayEquals(new int[]{TermCountCache.NOT_COUNTED}, getLengths(cache, WHALE_AND_SEA, documentIds));
+        assertEquals("0", cache.getMetrics().get("Term-Cache-Terms"));
+    }
+
+    private static void put(TermCountCache cache, List<String> terms, int documentId, String text){
+        QueryTermCounter queryTermCounter=new QueryTermCounter(terms);
+        new Tokenizer().tokenize(text, queryTermCounter);
+        cache.put(terms, documentId, queryTermCounter);
+    }
+
+    private static int[] getLengths(TermCountCache cache, List<String> terms, int[] documentIds){
+        int[] lengths=new int[documentIds.length];
+        cache.get(terms, documentIds, new int[terms.size()][documentIds.length], lengths);
+        return lengths;
+    }
+}
@@ -0,0 +1,70 @@
+package search;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenizerTest {
+
+    @Test
+    void splitsOnWhitespaceAndPunctuationAndLowerCases(){
+        String text="Call me Ishmael. Some years ago--never mind how long;\tprecisely!\n";
+        List<String> expected=Arrays.asList("call", "me", "ishmael", "some", "years", "ago", "never", "mind", "how", "long", "precisely");
+        assertEquals(expected, tokenize(text));
+        assertEquals(expected, tokenizeUtf8(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void decodesUtf8LikeTheJdk(){
+        String text="\u00C7a co\u00FBte 5\u20AC, stra\u00DFe \u00C4RGER; \u6771\u4EAC \u30BF\u30EF\u30FC \uD835\uDD18\uD835\uDD2B\uD835\uDD26\uD835\uDD20\uD835\uDD2C\uD835\uDD21\uD835\uDD22\u3000emoji\uD83D\uDE00x\u2003end";
+        assertEquals(tokenize(text), tokenizeUtf8(text.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(Arrays.asList("\u00E7a", "co\u00FBte", "5\u20AC", "stra\u00DFe", "\u00E4rger", "\u6771\u4EAC", "\u30BF\u30EF\u30FC", "\uD835\uDD18\uD835\uDD2B\uD835\uDD26\uD835\uDD20\uD835\uDD2C\uD835\uDD21\uD835\uDD22", "emoji\uD83D\uDE00x", "end"),
+                tokenizeUtf8(text.getBytes(StandardCharsets.UTF_8)));
+
+        Random random=new Random(5);
+        StringBuilder randomText=new StringBuilder();
+        for(int i=0;i<20000;i++){
+            int codePoint=random.nextInt(4)==0?random.nextInt(128):random.nextInt(Character.MAX_CODE_POINT+1);
+            if(codePoint<Character.MIN_SURROGATE || codePoint>Character.MAX_SURROGATE){
+                randomText.appendCodePoint(codePoint);
+            }
+        }
+        assertEquals(tokenize(randomText), tokenizeUtf8(randomText.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void malformedBytesBecomeReplacementCharacters(){
+        // a lone continuation byte, a truncated two byte sequence and an invalid lead byte
+        byte[] bytes={'a', (byte) 0x80, 'b', ' ', 'c', (byte) 0xC3, 'd', ' ', (byte) 0xFF, 'e', ' ', 'f', (byte) 0xE2, (byte) 0x82};
+        assertEquals(Arrays.asList("a\uFFFDb", "c\uFFFDd", "\uFFFDe", "f\uFFFD"), tokenizeUtf8(bytes));
+    }
+
+    @Test
+    void readsBetweenPositionAndLimitWithoutMovingThePosition(){
+        ByteBuffer buffer=ByteBuffer.wrap("skip these words only".getBytes(StandardCharsets.UTF_8));
+        buffer.position(5).limit(16);
+        List<String> tokens=new ArrayList<>();
+        new Tokenizer().tokenize(buffer, (chars, length) -> tokens.add(new String(chars, 0, length)));
+        assertEquals(Arrays.asList("these", "words"), tokens);
+        assertEquals(5, buffer.position());
+    }
+
+    private static List<String> tokenize(CharSequence text){
+        List<String> tokens=new ArrayList<>();
+        new Tokenizer().tokenize(text, (chars, length) -> tokens.add(new String(chars, 0, length)));
+        return tokens;
+    }
+
+    private static List<String> tokenizeUtf8(byte[] bytes){
+        List<String> tokens=new ArrayList<>();
+        new Tokenizer().tokenize(ByteBuffer.wrap(bytes), (chars, length) -> tokens.add(new String(chars, 0, length)));
+        return tokens;
+    }
+}
@@ -0,0 +1,69 @@
+package search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopDocumentsTest {
+
+    @Test
+    void keepsTheBestDocumentsInDescendingOrder(){
+        Random random=new Random(3);
+        for(int maxResults: new int[]{1, 2, 10, 100}){
+            double[] scores=new double[1000];
+            for(int i=0;i<scores.length;i++){
+                // few distinct scores so that ties are common
+                scores[i]=random.nextInt(50)/50.0;
+            }
+            TopDocuments topDocuments=new TopDocuments(maxResults);
+            for(int i=0;i<scores.length;i++){
+                topDocuments.offer(i, scores[i]);
+            }
+            topDocuments.sortDescending();
+
+            Integer[] expected=new Integer[scores.length];
+            for(int i=0;i<expected.length;i++){
+                expected[i]=i;
+            }
+            Arrays.sort(expected, Comparator.comparingDouble((Integer i) -> -scores[i]).thenComparingInt(i -> i));
+            assertEquals(maxResults, topDocuments.size());
+            for(int rank=0;rank<maxResults;rank++){
+                assertEquals(expected[rank], topDocuments.getDocumentIndex(rank), "rank "+rank);
+                assertEquals(scores[expected[rank]], topDocuments.getScore(rank));
+            }
+        }
+    }
+
+    @Test
+    void keepsEveryDocumentWhenThereAreFewerThanMaxResults(){
+        TopDocuments topDocuments=new TopDocuments(10);
+        topDocuments.offer(0, 0.1);
+        topDocuments.offer(1, 0.3);
+        topDocuments.offer(2, 0.2);
+        topDocuments.sortDescending();
+        assertEquals(3, topDocuments.size());
+        assertEquals(1, topDocuments.getDocumentIndex(0));
+        assertEquals(2, topDocuments.getDocumentIndex(1));
+        assertEquals(0, topDocuments.getDocumentIndex(2));
+    }
+
+    @Test
+    void noResultsAreKeptForZeroMaxResults(){
+        TopDocuments topDocuments=new TopDocuments(0);
+        topDocuments.offer(0, 1);
+        assertEquals(0, topDocuments.sortDescending().size());
+    }
+
+    @Test
+    void documentsCannotBeOfferedAfterSorting(){
+        TopDocuments topDocuments=new TopDocuments(2);
+        topDocuments.offer(0, 1);
+        topDocuments.sortDescending();
+        assertThrows(IllegalStateException.class, () -> topDocuments.offer(1, 2));
+    }
+}
@@ -0,0 +1,198 @@
+package search;
+
+import model.BufferPool;
+import model.Result;
+import model.Task;
+import networking.WebClient;
+import networking.WorkerBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkStealingDispatcherTest {
+    private static final String SLOW_WORKER="slow";
+    private static final String FAST_WORKER="fast";
+    private static final long NEVER=-1;
+
+    @Test
+    void everyUnitIsAnsweredOnce(){
+        FakeWebClient client=new FakeWebClient();
+        client.setLatency(SLOW_WORKER, call -> 5);
+        client.setLatency(FAST_WORKER, call -> 1);
+        WorkStealingDispatcher dispatcher=createDispatcher(client, new WorkerLoadTracker(), -1, 5000);
+
+        List<Result> results=dispatcher.dispatch().join();
+
+        assertFalse(dispatcher.isPartial());
+        assertEquals(getAllDocuments(), getDocuments(results));
+    }
+
+    @Test
+    void slowWorkerTakesOverWhenTheFastWorkerStalls(){
+        // the fast worker has been fast so far, then hangs on the first two units of this query
+        WorkerLoadTracker workerLoadTracker=new WorkerLoadTracker();
+        recordLatency(workerLoadTracker, SLOW_WORKER, 30);
+        recordLatency(workerLoadTracker, FAST_WORKER, 1);
+        FakeWebClient client=new FakeWebClient();
+        client.setLatency(SLOW_WORKER, call -> 30);
+        client.setLatency(FAST_WORKER, call -> call<2?NEVER:1);
+        WorkStealingDispatcher dispatcher=createDispatcher(client, workerLoadTracker, TimeUnit.MILLISECONDS.toNanos(100), 5000);
+
+        long startTime=System.nanoTime();
+        List<Result> results=dispatcher.dispatch().join();
+
+        assertFalse(dispatcher.isPartial());
+        assertEquals(getAllDocuments(), getDocuments(results));
+        // 16 units of 30 ms, two at a time, is about 240 ms on the slow worker alone
+        assertTrue(System.nanoTime()-startTime<TimeUnit.SECONDS.toNanos(2), "took until the deadline");
+    }
+
+    @Test
+    void unitsOfAFailedWorkerGoToTheOthers(){
+        FakeWebClient client=new FakeWebClient();
+        client.setLatency(SLOW_WORKER, call -> 5);
+        client.failAll(FAST_WORKER);
+        WorkStealingDispatcher dispatcher=createDispatcher(client, new WorkerLoadTracker(), -1, 5000);
+
+        List<Result> results=dispatcher.dispatch().join();
+
+        assertFalse(dispatcher.isPartial());
+        assertEquals(getAllDocuments(), getDocuments(results));
+    }
+
+    @Test
+    void busyWorkerIsTriedAgainWithoutCountingAsFailed(){
+        WorkerLoadTracker workerLoadTracker=new WorkerLoadTracker();
+        FakeWebClient client=new FakeWebClient();
+        client.setLatency(SLOW_WORKER, call -> 30);
+        client.setLatency(FAST_WORKER, call -> 1);
+        client.busyFor(FAST_WORKER, 4);
+        WorkStealingDispatcher dispatcher=createDispatcher(client, workerLoadTracker, -1, 5000);
+
+        List<Result> results=dispatcher.dispatch().join();
+
+        assertFalse(dispatcher.isPartial());
+        assertEquals(getAllDocuments(), getDocuments(results));
+        // the fast worker came back after turning units away and got no failure penalty
+        assertTrue(client.getCalls(FAST_WORKER)>4);
+        assertTrue(workerLoadTracker.getAverageLatencyNanos(FAST_WORKER)<TimeUnit.MILLISECONDS.toNanos(30));
+    }
+
+    @Test
+    void missingUnitsMakeTheResultPartialAtTheDeadline(){
+        FakeWebClient client=new FakeWebClient();
+        client.setLatency(SLOW_WORKER, call -> NEVER);
+        client.setLatency(FAST_WORKER, call -> NEVER);
+        WorkStealingDispatcher dispatcher=createDispatcher(client, new WorkerLoadTracker(), -1, 100);
+
+        List<Result> results=dispatcher.dispatch().join();
+
+        assertTrue(dispatcher.isPartial());
+        assertTrue(results.isEmpty());
+    }
+
+    private static WorkStealingDispatcher createDispatcher(WebClient client, WorkerLoadTracker workerLoadTracker, long backupDelayNanos, long deadlineMillis){
+        Map<String, List<Task>> tasksByWorker=new LinkedHashMap<>();
+        for(String worker: List.of(SLOW_WORKER, FAST_WORKER)){
+            List<Task> tasks=new ArrayList<>();
+            for(int unit=0;unit<8;unit++){
+                tasks.add(new Task(List.of("whale"), List.of(worker+"/"+unit)));
+            }
+            tasksByWorker.put(worker, tasks);
+        }
+        return new WorkStealingDispatcher(client, workerLoadTracker, new LatencyTracker(64), tasksByWorker, backupDelayNanos,
+                System.nanoTime()+TimeUnit.MILLISECONDS.toNanos(deadlineMillis), 0.8);
+    }
+
+    private static void recordLatency(WorkerLoadTracker workerLoadTracker, String worker, long latencyMillis){
+        workerLoadTracker.onTaskSent(worker);
+        workerLoadTracker.onTaskCompleted(worker, TimeUnit.MILLISECONDS.toNanos(latencyMillis), true);
+    }
+
+    private static Set<String> getAllDocuments(){
+        Set<String> documents=new HashSet<>();
+        for(String worker: List.of(SLOW_WORKER, FAST_WORKER)){
+            for(int unit=0;unit<8;unit++){
+                documents.add(worker+"/"+unit);
+            }
+        }
+        return documents;
+    }
+
+    private static Set<String> getDocuments(List<Result> results){
+        Set<String> documents=new HashSet<>();
+        for(Result result: results){
+            for(int documentIndex=0;documentIndex<result.getNumberOfDocuments();documentIndex++){
+                assertTrue(documents.add(result.getDocument(documentIndex)), "answered twice");
+            }
+        }
+        return documents;
+    }
+
+    // answers every task with a result listing its documents after the worker's latency for that call
+    private static class FakeWebClient extends WebClient {
+        private final Map<String, IntToLongFunction> latencies=new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> calls=new ConcurrentHashMap<>();
+        private final Set<String> failingWorkers=ConcurrentHashMap.newKeySet();
+        private final Map<String, Integer> busyCalls=new ConcurrentHashMap<>();
+
+        FakeWebClient(){
+            super(BufferPool.HEAP);
+        }
+
+        void setLatency(String worker, IntToLongFunction latencyMillis){
+            latencies.put(worker, latencyMillis);
+        }
+
+        void failAll(String worker){
+            failingWorkers.add(worker);
+        }
+
+        void busyFor(String worker, int numberOfCalls){
+            busyCalls.put(worker, numberOfCalls);
+        }
+
+        int getCalls(String worker){
+            return calls.computeIfAbsent(worker, ignored -> new AtomicInteger()).get();
+        }
+
+        @Override
+        public CompletableFuture<Result> sendTask(String url, Task task){
+            CompletableFuture<Result> response=new CompletableFuture<>();
+            if(failingWorkers.contains(url)){
+                response.completeExceptionally(new IOException("Connection refused"));
+                return response;
+            }
+            int call=calls.computeIfAbsent(url, worker -> new AtomicInteger()).getAndIncrement();
+            if(call<busyCalls.getOrDefault(url, 0)){
+                response.completeExceptionally(new WorkerBusyException(url));
+                return response;
+            }
+            long latencyMillis=latencies.get(url).applyAsLong(call);
+            if(latencyMillis==NEVER){
+                return response;
+            }
+            Result result=new Result(task.getSearchTerms());
+            for(String document: task.getDocuments()){
+                result.addDocument(document);
+            }
+            CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS).execute(() -> response.complete(result));
+            return response;
+        }
+    }
+}